@@ -1,6 +1,9 @@
 package io.github.nahkd123.tableschema;
 
+import java.util.function.Supplier;
+
 import io.github.nahkd123.tableschema.jdbc.JdbcDatabase;
+import io.github.nahkd123.tableschema.memory.MemoryDatabase;
 import io.github.nahkd123.tableschema.schema.Schema;
 
 /**
@@ -11,6 +14,7 @@ import io.github.nahkd123.tableschema.schema.Schema;
  * </p>
  * 
  * @see JdbcDatabase
+ * @see MemoryDatabase
  */
 public interface Database extends AutoCloseable {
 	/**
@@ -28,6 +32,64 @@ public interface Database extends AutoCloseable {
 	 */
 	<K, R> Table<K, R> table(String name, Schema<K, R> schema);
 
+	/**
+	 * <p>
+	 * Begin a new transaction. All tables obtained from this database will join
+	 * the transaction until it is committed or rolled back. If there is already an
+	 * active transaction, a nested transaction will be created instead.
+	 * </p>
+	 * 
+	 * @return The transaction handle.
+	 * @see #inTransaction(Supplier)
+	 */
+	Transaction beginTransaction();
+
+	/**
+	 * <p>
+	 * Run the action inside a transaction. The transaction will be committed if
+	 * the action completed normally, or rolled back if the action throws.
+	 * </p>
+	 * 
+	 * @param <T>    Type of result.
+	 * @param action The action to run.
+	 * @return The result of action.
+	 */
+	default <T> T inTransaction(Supplier<T> action) {
+		try (Transaction transaction = beginTransaction()) {
+			T result = action.get();
+			transaction.commit();
+			return result;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Run the action inside a transaction. The transaction will be committed if
+	 * the action completed normally, or rolled back if the action throws.
+	 * </p>
+	 * 
+	 * @param action The action to run.
+	 */
+	default void inTransaction(Runnable action) {
+		try (Transaction transaction = beginTransaction()) {
+			action.run();
+			transaction.commit();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the maximum number of operations that can use this database at the same
+	 * time, such as the number of connections that can be opened.
+	 * </p>
+	 * 
+	 * @return The maximum number of concurrent operations, or
+	 *         {@link Integer#MAX_VALUE} if there is no limit.
+	 */
+	default int maxConcurrency() {
+		return Integer.MAX_VALUE;
+	}
+
 	/**
 	 * <p>
 	 * Close underlying resource/handle that is being used to process queries.
@@ -2,11 +2,18 @@ package io.github.nahkd123.tableschema;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import io.github.nahkd123.tableschema.query.Assignment;
 import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.PreparedQuery;
+import io.github.nahkd123.tableschema.query.QueryOptions;
 import io.github.nahkd123.tableschema.query.QueryResult;
 import io.github.nahkd123.tableschema.query.SortBy;
 import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
 
 /**
  * <p>
@@ -15,6 +22,16 @@ import io.github.nahkd123.tableschema.schema.Field;
  * which will be used as reference for querying objects as well as update and
  * delete.
  * </p>
+ * <p>
+ * When ordering rows by a field, rows with the same value are ordered by their
+ * primary key. This makes paging through query results stable.
+ * </p>
+ * <p>
+ * Aggregates treat {@code null} values like SQL does: {@link #count(Filter)}
+ * and {@link #groupBy(Field, Filter)} count rows regardless of their values,
+ * while projections and {@link #min(Field, Filter)}, {@link #max(Field, Filter)}
+ * and {@link #sum(Field, Filter)} ignore {@code null} values.
+ * </p>
  * 
  * @param <K> Type of object's key.
  * @param <R> Type of object.
@@ -41,6 +58,22 @@ public interface Table<K, R> {
 	record MigrationReport(String backupName, int fromVersion, int toVersion) {
 	}
 
+	/**
+	 * <p>
+	 * Get the write version of this table. The version changes whenever rows in
+	 * this table are changed from this process, including when a transaction that
+	 * changed the rows is committed or rolled back. Results read while the
+	 * version stays the same are still up to date, unless the rows are changed
+	 * from another process.
+	 * </p>
+	 * 
+	 * @return The write version, or {@code -1} if changes to this table are not
+	 *         tracked, or if current thread has uncommitted changes to this table.
+	 */
+	default long version() {
+		return -1L;
+	}
+
 	/**
 	 * <p>
 	 * Drop this table.
@@ -79,6 +112,38 @@ public interface Table<K, R> {
 		return insert(Collections.singleton(value)) == 1;
 	}
 
+	/**
+	 * <p>
+	 * Insert multiple rows to this table, or update existing rows that have the
+	 * same primary key.
+	 * </p>
+	 * 
+	 * @param values A collection of rows to insert or update.
+	 * @return Number of rows actually inserted or updated.
+	 */
+	default int upsert(Collection<R> values) {
+		int count = 0;
+
+		for (R value : values) {
+			if (update(value) || insert(value)) count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Insert a single row to this table, or update existing row that has the same
+	 * primary key.
+	 * </p>
+	 * 
+	 * @param value A single row.
+	 * @return Whether the row is actually inserted or updated.
+	 */
+	default boolean upsert(R value) {
+		return upsert(Collections.singleton(value)) == 1;
+	}
+
 	/**
 	 * <p>
 	 * Query rows in this table. Use {@code null} on both parameters to query entire
@@ -92,6 +157,268 @@ public interface Table<K, R> {
 	 */
 	QueryResult<R> query(Filter<R> filter, SortBy<R> ordering);
 
+	/**
+	 * <p>
+	 * Query rows in this table with options for controlling how rows are fetched.
+	 * </p>
+	 * <p>
+	 * The default implementation queries all rows with
+	 * {@link #query(Filter, SortBy)}, then skips rows before offset and stops at
+	 * limit. Fetch size and prefetch are ignored.
+	 * </p>
+	 * 
+	 * @param filter   Field filter. Use {@code null} to accept all rows.
+	 * @param ordering Ordering of queried rows. Use {@code null} to use table's
+	 *                 natural ordering.
+	 * @param options  Query options.
+	 * @return Query result.
+	 * @see QueryOptions#DEFAULT
+	 * @see #queryAfter(Filter, SortBy, Object, int)
+	 */
+	default QueryResult<R> query(Filter<R> filter, SortBy<R> ordering, QueryOptions options) {
+		QueryResult<R> result = query(filter, ordering);
+		long limit = Long.MAX_VALUE;
+		if (options.limit() > 0) limit = options.limit();
+		if (options.maxRows() > 0) limit = Math.min(limit, options.maxRows());
+		if (options.offset() == 0 && limit == Long.MAX_VALUE) return result;
+		long end = limit;
+
+		return new QueryResult<R>() {
+			private long skip = options.offset(), read = 0;
+
+			@Override
+			public R nextRow() {
+				while (skip > 0) {
+					skip--;
+					if (result.nextRow() == null) return null;
+				}
+
+				if (read >= end) return null;
+				read++;
+				return result.nextRow();
+			}
+
+			@Override
+			public void close() {
+				result.close();
+			}
+		};
+	}
+
+	/**
+	 * <p>
+	 * Query a page of rows that come after specified row, also known as keyset
+	 * pagination. Unlike offset, the cost of querying a page does not depend on
+	 * how deep the page is, as long as there is an index for the ordering field.
+	 * </p>
+	 * <p>
+	 * Rows with the same value in ordering field are ordered by primary key, so
+	 * the ordering field does not have to be unique. Rows where the ordering
+	 * field is {@code null} come first in ascending order and last in descending
+	 * order, which is how SQLite and {@code MemoryDatabase} sort them.
+	 * </p>
+	 * 
+	 * <pre>
+	 * List&lt;Task&gt; page = tasks.queryAfter(filter, ordering, null, 50).asList();
+	 * while (!page.isEmpty()) {
+	 * 	// ...
+	 * 	page = tasks.queryAfter(filter, ordering, page.getLast(), 50).asList();
+	 * }
+	 * </pre>
+	 * 
+	 * @param filter   Field filter. Use {@code null} to accept all rows.
+	 * @param ordering Ordering of queried rows. Use {@code null} to order by
+	 *                 primary key.
+	 * @param after    The last row of previous page. Use {@code null} to query
+	 *                 the first page.
+	 * @param limit    Maximum number of rows in page.
+	 * @return Query result.
+	 */
+	default QueryResult<R> queryAfter(Filter<R> filter, SortBy<R> ordering, R after, int limit) {
+		SortBy<R> order = ordering != null ? ordering : new SortBy<>(primaryKey(), SortOrder.ASCENDING);
+
+		if (after != null) {
+			boolean ascending = order.order() == SortOrder.ASCENDING;
+			int direction = ascending ? Filter.Compare.GREATER : Filter.Compare.LESS;
+			Filter<R> seek = new Filter.Compare<>(primaryKey(), direction, primaryKey().getter().apply(after));
+			if (!order.field().equals(primaryKey())) seek = seekAfter(order.field(), ascending, after, seek);
+			filter = filter != null ? filter.and(seek) : seek;
+		}
+
+		return query(filter, order, QueryOptions.DEFAULT.withLimit(limit));
+	}
+
+	private static <R, T> Filter<R> seekAfter(Field<R, T> field, boolean ascending, R after, Filter<R> keySeek) {
+		T value = field.getter().apply(after);
+		Filter<R> isNull = Filter.isNull(field);
+
+		// Comparisons with null are unknown, so null values must be sought explicitly
+		if (value == null) return ascending ? isNull.and(keySeek).or(Filter.not(isNull)) : isNull.and(keySeek);
+
+		// (field > value) OR (field == value AND key > last key)
+		int direction = ascending ? Filter.Compare.GREATER : Filter.Compare.LESS;
+		Filter<R> seek = new Filter.Compare<>(field, direction, value)
+			.or(new Filter.Compare<>(field, Filter.Compare.EQUALS, value).and(keySeek));
+		return ascending ? seek : seek.or(isNull);
+	}
+
+	/**
+	 * <p>
+	 * Query primary keys of rows in this table, without loading the rest of the
+	 * fields.
+	 * </p>
+	 * 
+	 * @param filter Field filter. Use {@code null} to accept all rows.
+	 * @return Query result of primary keys.
+	 */
+	default QueryResult<K> queryKeys(Filter<R> filter) {
+		return queryField(primaryKey(), filter);
+	}
+
+	/**
+	 * <p>
+	 * Query values of a single field in this table, without loading the rest of
+	 * the fields. Rows where the field is {@code null} are skipped, since
+	 * {@code null} marks the end of query result. Use
+	 * {@link #count(Filter)} with {@link Filter#isNull(Field)} to count them.
+	 * </p>
+	 * 
+	 * @param <T>    Type of field.
+	 * @param field  The field to select.
+	 * @param filter Field filter. Use {@code null} to accept all rows.
+	 * @return Query result of field values.
+	 */
+	default <T> QueryResult<T> queryField(Field<R, T> field, Filter<R> filter) {
+		return query(notNull(field, filter), null).map(field.getter());
+	}
+
+	/**
+	 * <p>
+	 * Narrow down the filter to rows where the field is not {@code null}.
+	 * </p>
+	 */
+	private static <R> Filter<R> notNull(Field<R, ?> field, Filter<R> filter) {
+		Filter<R> notNull = Filter.not(Filter.isNull(field));
+		return filter != null ? filter.and(notNull) : notNull;
+	}
+
+	/**
+	 * <p>
+	 * Count rows in this table.
+	 * </p>
+	 * 
+	 * @param filter Field filter. Use {@code null} to count all rows.
+	 * @return Number of rows that passed the filter.
+	 */
+	default long count(Filter<R> filter) {
+		long count = 0;
+		try (QueryResult<K> result = queryKeys(filter)) {
+			while (result.nextRow() != null) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * <p>
+	 * Check whether there is at least 1 row that passed the filter.
+	 * </p>
+	 * 
+	 * @param filter Field filter. Use {@code null} to check if table is not empty.
+	 * @return Whether there is a matching row.
+	 */
+	default boolean exists(Filter<R> filter) {
+		return query(filter, null, QueryOptions.DEFAULT.withLimit(1)).first() != null;
+	}
+
+	/**
+	 * <p>
+	 * Get the smallest value of a field, ignoring {@code null} values.
+	 * </p>
+	 * 
+	 * @param <T>    Type of field.
+	 * @param field  The field.
+	 * @param filter Field filter. Use {@code null} to accept all rows.
+	 * @return The smallest value, or {@code null} if there are no values.
+	 */
+	default <T extends Comparable<? super T>> T min(Field<R, T> field, Filter<R> filter) {
+		// Ordered by the table, so values are compared the same way the table stores them
+		R row = query(notNull(field, filter), new SortBy<>(field, SortOrder.ASCENDING), QueryOptions.DEFAULT.withLimit(1)).first();
+		return row != null ? field.getter().apply(row) : null;
+	}
+
+	/**
+	 * <p>
+	 * Get the largest value of a field, ignoring {@code null} values.
+	 * </p>
+	 * 
+	 * @param <T>    Type of field.
+	 * @param field  The field.
+	 * @param filter Field filter. Use {@code null} to accept all rows.
+	 * @return The largest value, or {@code null} if there are no values.
+	 */
+	default <T extends Comparable<? super T>> T max(Field<R, T> field, Filter<R> filter) {
+		R row = query(notNull(field, filter), new SortBy<>(field, SortOrder.DESCENDING), QueryOptions.DEFAULT.withLimit(1)).first();
+		return row != null ? field.getter().apply(row) : null;
+	}
+
+	/**
+	 * <p>
+	 * Sum values of a numerical field, ignoring {@code null} values.
+	 * </p>
+	 * 
+	 * @param field  The field.
+	 * @param filter Field filter. Use {@code null} to accept all rows.
+	 * @return The sum as {@link Double} if the field is {@link FieldType#FLOAT}
+	 *         or {@link FieldType#DOUBLE}, or as {@link Long} otherwise.
+	 */
+	default Number sum(Field<R, ? extends Number> field, Filter<R> filter) {
+		filter = notNull(field, filter);
+
+		if (FieldType.FLOAT.equals(field.type().root()) || FieldType.DOUBLE.equals(field.type().root())) {
+			double sum = 0;
+			for (Number value : queryField(field, filter)) sum += value.doubleValue();
+			return sum;
+		} else {
+			long sum = 0;
+			for (Number value : queryField(field, filter)) sum += value.longValue();
+			return sum;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Count rows for each distinct value of a field.
+	 * </p>
+	 * 
+	 * @param <T>    Type of field.
+	 * @param field  The field to group rows by.
+	 * @param filter Field filter. Use {@code null} to accept all rows.
+	 * @return A map of field values to number of rows. Rows where the field is
+	 *         {@code null} are counted under {@code null} key.
+	 */
+	default <T> Map<T, Long> groupBy(Field<R, T> field, Filter<R> filter) {
+		Map<T, Long> counts = new HashMap<>();
+		for (R row : query(filter, null)) counts.merge(field.getter().apply(row), 1L, Long::sum);
+		return Collections.unmodifiableMap(counts);
+	}
+
+	/**
+	 * <p>
+	 * Prepare a query to be executed many times with different values. Each
+	 * comparison in filter template becomes a bind slot, and values in filter
+	 * template are ignored.
+	 * </p>
+	 * 
+	 * @param template Filter template. Use {@code null} to accept all rows.
+	 * @param ordering Ordering of queried rows. Use {@code null} to use table's
+	 *                 natural ordering.
+	 * @return The prepared query.
+	 * @see PreparedQuery
+	 */
+	default PreparedQuery<R> prepare(Filter<R> template, SortBy<R> ordering) {
+		return PreparedQuery.of(this, template, ordering);
+	}
+
 	/**
 	 * <p>
 	 * Query row(s) with specified primary key in this table.
@@ -104,6 +431,19 @@ public interface Table<K, R> {
 		return query(Filter.eq(primaryKey(), key), null);
 	}
 
+	/**
+	 * <p>
+	 * Query rows with specified primary keys in this table. Keys that are not
+	 * present in table are ignored.
+	 * </p>
+	 * 
+	 * @param keys The keys of rows to select.
+	 * @return Query result, in no particular order.
+	 */
+	default QueryResult<R> query(Collection<K> keys) {
+		return query(Filter.in(primaryKey(), keys), null);
+	}
+
 	/**
 	 * <p>
 	 * Bulk update multiple rows in this table. Rows whose primary key isn't stored
@@ -112,9 +452,32 @@ public interface Table<K, R> {
 	 * 
 	 * @param values The rows with new values.
 	 * @return Number of rows actually updated.
+	 * @see #updateEach(Collection)
 	 */
 	int update(Collection<R> values);
 
+	/**
+	 * <p>
+	 * Bulk update multiple rows in this table and report the result of each row.
+	 * Rows whose primary key isn't stored in this table will be ignored, and their
+	 * entry in returned array will be {@code false}.
+	 * </p>
+	 * <p>
+	 * The default implementation updates rows one by one with
+	 * {@link #update(Object)}.
+	 * </p>
+	 * 
+	 * @param values The rows with new values.
+	 * @return Whether each row is actually updated, in iteration order of
+	 *         {@code values}.
+	 */
+	default boolean[] updateEach(Collection<R> values) {
+		boolean[] updated = new boolean[values.size()];
+		int i = 0;
+		for (R value : values) updated[i++] = update(value);
+		return updated;
+	}
+
 	/**
 	 * <p>
 	 * Update a single row with specific primary key in this table. If the primary
@@ -128,6 +491,47 @@ public interface Table<K, R> {
 		return update(Collections.singleton(value)) == 1;
 	}
 
+	/**
+	 * <p>
+	 * Assign new values to fields of all rows that passed the filter, without
+	 * reading the rows first.
+	 * </p>
+	 * 
+	 * <pre>
+	 * tasks.update(Filter.eq(Task.PROJECTID, project.id()), List.of(
+	 * 	Assignment.set(Task.STATUS, Status.COMPLETED),
+	 * 	Assignment.set(Task.NAME, "Archived")));
+	 * </pre>
+	 * 
+	 * <p>
+	 * Assigning the primary key moves the rows to the new key. Rows can't be
+	 * created with new values without knowing the table schema, so this method
+	 * has no default implementation.
+	 * </p>
+	 * 
+	 * @param filter      Field filter. Use {@code null} to update all rows.
+	 * @param assignments The fields to assign. Must not be empty.
+	 * @return Number of rows actually updated.
+	 * @throws IllegalArgumentException if {@code assignments} is empty.
+	 */
+	int update(Filter<R> filter, List<Assignment<R, ?>> assignments);
+
+	/**
+	 * <p>
+	 * Assign a new value to a field of all rows that passed the filter, without
+	 * reading the rows first.
+	 * </p>
+	 * 
+	 * @param <T>    Type of field.
+	 * @param filter Field filter. Use {@code null} to update all rows.
+	 * @param field  The field to assign.
+	 * @param value  The new value of field.
+	 * @return Number of rows actually updated.
+	 */
+	default <T> int update(Filter<R> filter, Field<R, T> field, T value) {
+		return update(filter, List.of(Assignment.set(field, value)));
+	}
+
 	/**
 	 * <p>
 	 * Delete multiple rows from this table.
@@ -148,9 +552,7 @@ public interface Table<K, R> {
 	}
 
 	default int delete(Collection<K> keys) {
-		return delete(new Filter.Or<>(keys.stream()
-			.map(key -> Filter.eq(primaryKey(), key))
-			.toList()));
+		return delete(Filter.in(primaryKey(), keys));
 	}
 
 	default int deleteRows(Collection<R> values) {
@@ -0,0 +1,81 @@
+package io.github.nahkd123.tableschema;
+
+/**
+ * <p>
+ * A transaction groups changes made to tables from the same {@link Database}
+ * into a single unit of work. All tables obtained from the database will join
+ * the active transaction until it is committed or rolled back. Closing the
+ * transaction without committing will roll back all changes.
+ * </p>
+ * <p>
+ * Beginning a transaction while another transaction is still active creates a
+ * nested transaction, which can be committed or rolled back on its own without
+ * ending the outer transaction.
+ * </p>
+ * 
+ * @see Database#beginTransaction()
+ * @see Database#inTransaction(java.util.function.Supplier)
+ */
+public interface Transaction extends AutoCloseable {
+	/**
+	 * <p>
+	 * Commit all changes made in this transaction. The transaction can't be used
+	 * after committing.
+	 * </p>
+	 */
+	void commit();
+
+	/**
+	 * <p>
+	 * Discard all changes made in this transaction. The transaction can't be used
+	 * after rolling back.
+	 * </p>
+	 */
+	void rollback();
+
+	/**
+	 * <p>
+	 * Mark the current state of this transaction, which can be restored later
+	 * with {@link #rollbackTo(Savepoint)}.
+	 * </p>
+	 * 
+	 * @return A new savepoint.
+	 */
+	Savepoint savepoint();
+
+	/**
+	 * <p>
+	 * Discard all changes made after the savepoint was created. The transaction
+	 * remains active.
+	 * </p>
+	 * 
+	 * @param savepoint The savepoint created from this transaction.
+	 */
+	void rollbackTo(Savepoint savepoint);
+
+	/**
+	 * <p>
+	 * Release the savepoint. Changes made after the savepoint will be kept, but
+	 * the savepoint can't be used anymore.
+	 * </p>
+	 * 
+	 * @param savepoint The savepoint created from this transaction.
+	 */
+	void release(Savepoint savepoint);
+
+	/**
+	 * <p>
+	 * Roll back this transaction if it wasn't committed or rolled back.
+	 * </p>
+	 */
+	@Override
+	void close();
+
+	/**
+	 * <p>
+	 * A marked state inside transaction.
+	 * </p>
+	 */
+	interface Savepoint {
+	}
+}
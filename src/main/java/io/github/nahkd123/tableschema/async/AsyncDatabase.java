@@ -0,0 +1,236 @@
+package io.github.nahkd123.tableschema.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import io.github.nahkd123.tableschema.Database;
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.QueryResult;
+import io.github.nahkd123.tableschema.schema.Schema;
+
+/**
+ * <p>
+ * Run operations of a {@link Database} on an executor, returning
+ * {@link CompletableFuture} instead of blocking the caller. By default each
+ * operation runs on its own virtual thread.
+ * </p>
+ * <p>
+ * At most {@code maxConcurrency} operations run at the same time, and the rest
+ * wait for their turn without occupying a connection. This can't be more than
+ * {@link Database#maxConcurrency()}, which is the size of connection pool, or
+ * {@code 1} if the database is backed by a single connection.
+ * </p>
+ * <p>
+ * Transactions are bound to threads, so operations never join the transaction
+ * of the thread that submitted them. Use {@link #inTransaction(Supplier)} to run
+ * multiple operations in a single transaction.
+ * </p>
+ *
+ * <pre>
+ * try (AsyncDatabase db = new AsyncDatabase(new JdbcDatabase(pool), 8)) {
+ * 	AsyncTable&lt;UUID, Task&gt; tasks = db.table("tasks", Task.SCHEMA);
+ * 	List&lt;CompletableFuture&lt;List&lt;Task&gt;&gt;&gt; futures = projectIds.stream()
+ * 		.map(id -&gt; tasks.query(Filter.eq(Task.PROJECTID, id), null))
+ * 		.toList();
+ * 	// ...
+ * }
+ * </pre>
+ */
+public class AsyncDatabase implements AutoCloseable {
+	private Database database;
+	private Executor executor;
+	private ExecutorService ownedExecutor;
+	private Semaphore permits;
+
+	/**
+	 * <p>
+	 * Create a new asynchronous database. The executor is not shut down when this
+	 * database is closed.
+	 * </p>
+	 *
+	 * @param database       The underlying database.
+	 * @param executor       The executor to run operations on.
+	 * @param maxConcurrency Maximum number of operations running at the same
+	 *                       time.
+	 * @throws IllegalArgumentException if {@code maxConcurrency} is less than 1
+	 *                                  or more than
+	 *                                  {@link Database#maxConcurrency()}.
+	 */
+	public AsyncDatabase(Database database, Executor executor, int maxConcurrency) {
+		if (maxConcurrency < 1) throw new IllegalArgumentException("Max concurrency must be at least 1");
+		if (maxConcurrency > database.maxConcurrency()) throw new IllegalArgumentException(
+			"Max concurrency must be at most %d for this database".formatted(database.maxConcurrency()));
+		this.database = database;
+		this.executor = executor;
+		this.permits = new Semaphore(maxConcurrency, true);
+	}
+
+	/**
+	 * <p>
+	 * Create a new asynchronous database that runs each operation on its own
+	 * virtual thread.
+	 * </p>
+	 *
+	 * @param database       The underlying database.
+	 * @param maxConcurrency Maximum number of operations running at the same
+	 *                       time.
+	 * @throws IllegalArgumentException if {@code maxConcurrency} is less than 1
+	 *                                  or more than
+	 *                                  {@link Database#maxConcurrency()}.
+	 */
+	public AsyncDatabase(Database database, int maxConcurrency) {
+		this(database, Executors.newVirtualThreadPerTaskExecutor(), maxConcurrency);
+		this.ownedExecutor = (ExecutorService) executor;
+	}
+
+	/**
+	 * <p>
+	 * Get the underlying database.
+	 * </p>
+	 */
+	public Database database() {
+		return database;
+	}
+
+	/**
+	 * <p>
+	 * Get asynchronous view of a table from this database.
+	 * </p>
+	 *
+	 * @see Database#table(String, Schema)
+	 */
+	public <K, R> AsyncTable<K, R> table(String name, Schema<K, R> schema) {
+		return new AsyncTable<>(this, database.table(name, schema));
+	}
+
+	/**
+	 * <p>
+	 * Get asynchronous view of a table, which must be obtained from the
+	 * underlying database (or be a decorator of such table).
+	 * </p>
+	 */
+	public <K, R> AsyncTable<K, R> table(Table<K, R> table) {
+		return new AsyncTable<>(this, table);
+	}
+
+	/**
+	 * <p>
+	 * Run an action on the executor once there is a free slot. If the returned
+	 * future is cancelled before the action started, the action will not run.
+	 * </p>
+	 *
+	 * @param <T>    Type of result.
+	 * @param action The action to run.
+	 * @return The future result of action.
+	 */
+	public <T> CompletableFuture<T> submit(Supplier<T> action) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+
+		try {
+			executor.execute(() -> run(action, future));
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+
+		return future;
+	}
+
+	private <T> void run(Supplier<T> action, CompletableFuture<T> future) {
+		if (future.isDone()) return;
+
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.completeExceptionally(e);
+			return;
+		}
+
+		try {
+			if (!future.isDone()) future.complete(action.get());
+		} catch (Throwable e) {
+			future.completeExceptionally(e);
+		} finally {
+			permits.release();
+		}
+	}
+
+	Executor executor() {
+		return executor;
+	}
+
+	/**
+	 * <p>
+	 * Open a query result that takes up a slot until it is closed, since it keeps
+	 * its connection while it is open. This must be called on the executor.
+	 * </p>
+	 */
+	<T> QueryResult<T> open(Supplier<QueryResult<T>> query) {
+		try {
+			permits.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for a free slot", e);
+		}
+
+		QueryResult<T> result;
+
+		try {
+			result = query.get();
+		} catch (Throwable e) {
+			permits.release();
+			throw e;
+		}
+
+		AtomicBoolean closed = new AtomicBoolean(false);
+		return new QueryResult<T>() {
+			@Override
+			public T nextRow() {
+				return result.nextRow();
+			}
+
+			@Override
+			public void close() {
+				if (closed.getAndSet(true)) return;
+
+				try {
+					result.close();
+				} finally {
+					permits.release();
+				}
+			}
+		};
+	}
+
+	/**
+	 * <p>
+	 * Run the action inside a transaction on the executor.
+	 * </p>
+	 *
+	 * @see Database#inTransaction(Supplier)
+	 */
+	public <T> CompletableFuture<T> inTransaction(Supplier<T> action) {
+		return submit(() -> database.inTransaction(action));
+	}
+
+	/**
+	 * <p>
+	 * Wait for running operations if the executor is owned by this database, then
+	 * close the underlying database.
+	 * </p>
+	 */
+	@Override
+	public void close() {
+		try {
+			if (ownedExecutor != null) ownedExecutor.close();
+		} finally {
+			database.close();
+		}
+	}
+}
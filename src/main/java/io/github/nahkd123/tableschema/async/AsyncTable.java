@@ -0,0 +1,212 @@
+package io.github.nahkd123.tableschema.async;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.Assignment;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.QueryOptions;
+import io.github.nahkd123.tableschema.query.SortBy;
+
+/**
+ * <p>
+ * Asynchronous view of a {@link Table}. Each method runs the matching table
+ * method on the executor of {@link AsyncDatabase}. Query results are collected
+ * into lists before the future completes, so no database cursor is left open.
+ * </p>
+ *
+ * @param <K> Type of object's key.
+ * @param <R> Type of object.
+ * @see AsyncDatabase#table(Table)
+ */
+public class AsyncTable<K, R> {
+	private AsyncDatabase database;
+	private Table<K, R> table;
+
+	AsyncTable(AsyncDatabase database, Table<K, R> table) {
+		this.database = database;
+		this.table = table;
+	}
+
+	/**
+	 * <p>
+	 * Get the underlying (blocking) table.
+	 * </p>
+	 */
+	public Table<K, R> table() {
+		return table;
+	}
+
+	/**
+	 * <p>
+	 * Run an action with the underlying table on the executor.
+	 * </p>
+	 *
+	 * @param <T>    Type of result.
+	 * @param action The action to run.
+	 * @return The future result of action.
+	 */
+	public <T> CompletableFuture<T> submit(Function<Table<K, R>, T> action) {
+		return database.submit(() -> action.apply(table));
+	}
+
+	/**
+	 * @see Table#query(Filter, SortBy)
+	 */
+	public CompletableFuture<List<R>> query(Filter<R> filter, SortBy<R> ordering) {
+		return submit(t -> t.query(filter, ordering).asList());
+	}
+
+	/**
+	 * @see Table#query(Filter, SortBy, QueryOptions)
+	 */
+	public CompletableFuture<List<R>> query(Filter<R> filter, SortBy<R> ordering, QueryOptions options) {
+		return submit(t -> t.query(filter, ordering, options).asList());
+	}
+
+	/**
+	 * <p>
+	 * Stream rows to subscribers without collecting them into a list. Each
+	 * subscriber runs its own query, which takes up a slot of
+	 * {@link AsyncDatabase} until all rows are published or the subscription is
+	 * cancelled.
+	 * </p>
+	 *
+	 * <pre>
+	 * tasks.publish(Filter.eq(Task.PROJECTID, projectId), null).subscribe(subscriber);
+	 * </pre>
+	 *
+	 * @param filter   Field filter. Use {@code null} to accept all rows.
+	 * @param ordering Ordering of queried rows. Use {@code null} to use table's
+	 *                 natural ordering.
+	 * @return The publisher of queried rows.
+	 * @see QueryPublisher
+	 */
+	public Flow.Publisher<R> publish(Filter<R> filter, SortBy<R> ordering) {
+		return publish(filter, ordering, QueryOptions.DEFAULT);
+	}
+
+	/**
+	 * @see #publish(Filter, SortBy)
+	 */
+	public Flow.Publisher<R> publish(Filter<R> filter, SortBy<R> ordering, QueryOptions options) {
+		return new QueryPublisher<>(() -> database.open(() -> table.query(filter, ordering, options)),
+			database.executor());
+	}
+
+	/**
+	 * <p>
+	 * Query a row with specified primary key.
+	 * </p>
+	 *
+	 * @param key The primary key.
+	 * @return The future row, which completes with {@code null} if there is no
+	 *         row with specified key.
+	 * @see Table#query(Object)
+	 */
+	public CompletableFuture<R> query(K key) {
+		return submit(t -> t.query(key).first());
+	}
+
+	/**
+	 * @see Table#query(Collection)
+	 */
+	public CompletableFuture<List<R>> query(Collection<K> keys) {
+		return submit(t -> t.query(keys).asList());
+	}
+
+	/**
+	 * @see Table#count(Filter)
+	 */
+	public CompletableFuture<Long> count(Filter<R> filter) {
+		return submit(t -> t.count(filter));
+	}
+
+	/**
+	 * @see Table#exists(Filter)
+	 */
+	public CompletableFuture<Boolean> exists(Filter<R> filter) {
+		return submit(t -> t.exists(filter));
+	}
+
+	/**
+	 * @see Table#insert(Collection)
+	 */
+	public CompletableFuture<Integer> insert(Collection<R> values) {
+		return submit(t -> t.insert(values));
+	}
+
+	/**
+	 * @see Table#insert(Object)
+	 */
+	public CompletableFuture<Boolean> insert(R value) {
+		return submit(t -> t.insert(value));
+	}
+
+	/**
+	 * @see Table#upsert(Collection)
+	 */
+	public CompletableFuture<Integer> upsert(Collection<R> values) {
+		return submit(t -> t.upsert(values));
+	}
+
+	/**
+	 * @see Table#upsert(Object)
+	 */
+	public CompletableFuture<Boolean> upsert(R value) {
+		return submit(t -> t.upsert(value));
+	}
+
+	/**
+	 * @see Table#update(Collection)
+	 */
+	public CompletableFuture<Integer> update(Collection<R> values) {
+		return submit(t -> t.update(values));
+	}
+
+	/**
+	 * @see Table#update(Object)
+	 */
+	public CompletableFuture<Boolean> update(R value) {
+		return submit(t -> t.update(value));
+	}
+
+	/**
+	 * @see Table#update(Filter, List)
+	 */
+	public CompletableFuture<Integer> update(Filter<R> filter, List<Assignment<R, ?>> assignments) {
+		return submit(t -> t.update(filter, assignments));
+	}
+
+	/**
+	 * @see Table#delete(Filter)
+	 */
+	public CompletableFuture<Integer> delete(Filter<R> filter) {
+		return submit(t -> t.delete(filter));
+	}
+
+	/**
+	 * @see Table#delete(Object)
+	 */
+	public CompletableFuture<Boolean> delete(K key) {
+		return submit(t -> t.delete(key));
+	}
+
+	/**
+	 * @see Table#delete(Collection)
+	 */
+	public CompletableFuture<Integer> delete(Collection<K> keys) {
+		return submit(t -> t.delete(keys));
+	}
+
+	/**
+	 * @see Table#deleteRows(Collection)
+	 */
+	public CompletableFuture<Integer> deleteRows(Collection<R> values) {
+		return submit(t -> t.deleteRows(values));
+	}
+}
@@ -0,0 +1,202 @@
+package io.github.nahkd123.tableschema.async;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.github.nahkd123.tableschema.query.QueryResult;
+
+/**
+ * <p>
+ * Publish rows of a query to {@link Flow.Subscriber}s. Each subscriber gets its
+ * own query result, which is opened once the subscriber requested the first
+ * row. Rows are read from query result only when the subscriber requested
+ * them, so rows are never buffered.
+ * </p>
+ * <p>
+ * Query result is read on the executor, and it is closed (giving back its
+ * connection) once all rows are published, the query failed or the
+ * subscription is cancelled.
+ * </p>
+ *
+ * @param <T> Type of row.
+ * @see AsyncTable#publish(io.github.nahkd123.tableschema.query.Filter,
+ *      io.github.nahkd123.tableschema.query.SortBy)
+ */
+public class QueryPublisher<T> implements Flow.Publisher<T> {
+	private Supplier<QueryResult<T>> query;
+	private Executor executor;
+
+	/**
+	 * <p>
+	 * Create a new query publisher.
+	 * </p>
+	 *
+	 * @param query    Open a new query result. This is called once for each
+	 *                 subscriber.
+	 * @param executor The executor for reading rows and signalling subscribers.
+	 */
+	public QueryPublisher(Supplier<QueryResult<T>> query, Executor executor) {
+		this.query = query;
+		this.executor = executor;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		Objects.requireNonNull(subscriber, "subscriber");
+		QuerySubscription<T> subscription = new QuerySubscription<>(subscriber, query, executor);
+		subscriber.onSubscribe(subscription);
+	}
+
+	/**
+	 * <p>
+	 * Subscription that publishes rows on the executor. At most 1 task is
+	 * publishing rows at a time, so query result is never used by 2 threads at
+	 * the same time, and subscriber is signalled in order.
+	 * </p>
+	 */
+	private static class QuerySubscription<T> implements Flow.Subscription, Runnable {
+		private Flow.Subscriber<? super T> subscriber;
+		private Supplier<QueryResult<T>> query;
+		private Executor executor;
+		private AtomicLong demand = new AtomicLong();
+		private AtomicInteger pending = new AtomicInteger();
+		private volatile boolean cancelled = false;
+		private volatile Throwable invalidRequest = null;
+		private volatile RejectedExecutionException rejected = null;
+
+		// Only used by publishing task
+		private QueryResult<T> result = null;
+		private boolean done = false;
+
+		public QuerySubscription(Flow.Subscriber<? super T> subscriber, Supplier<QueryResult<T>> query, Executor executor) {
+			this.subscriber = subscriber;
+			this.query = query;
+			this.executor = executor;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) invalidRequest = new IllegalArgumentException("Requested number of rows must be positive");
+			else demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+			schedule();
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+			schedule();
+		}
+
+		private void schedule() {
+			if (pending.getAndIncrement() != 0) return;
+
+			try {
+				executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				// Nothing can publish rows anymore, but the subscriber must still be told.
+				// This thread took the pending counter, so no publishing task is running
+				rejected = e;
+				run();
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = 1;
+
+			do {
+				publish();
+				missed = pending.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void publish() {
+			if (done) return;
+
+			if (cancelled) {
+				stop();
+				return;
+			}
+
+			if (rejected != null) {
+				fail(rejected);
+				return;
+			}
+
+			if (invalidRequest != null) {
+				fail(invalidRequest);
+				return;
+			}
+
+			while (demand.get() > 0) {
+				if (cancelled) {
+					stop();
+					return;
+				}
+
+				T row;
+
+				try {
+					if (result == null) result = query.get();
+					row = result.nextRow();
+					if (row == null) closeResult();
+				} catch (Throwable e) {
+					fail(e);
+					return;
+				}
+
+				if (row == null) {
+					done = true;
+					subscriber.onComplete();
+					return;
+				}
+
+				if (demand.get() != Long.MAX_VALUE) demand.decrementAndGet();
+
+				try {
+					subscriber.onNext(row);
+				} catch (Throwable e) {
+					// Subscriber is broken, so it must not be signalled anymore (rule 2.13)
+					cancelled = true;
+					stop();
+					return;
+				}
+			}
+
+			if (cancelled) stop();
+		}
+
+		private void stop() {
+			done = true;
+
+			try {
+				closeResult();
+			} catch (Throwable e) {
+				// Subscriber no longer wants any signal
+			}
+		}
+
+		private void fail(Throwable e) {
+			done = true;
+
+			try {
+				closeResult();
+			} catch (Throwable closeError) {
+				e.addSuppressed(closeError);
+			}
+
+			if (!cancelled) subscriber.onError(e);
+		}
+
+		private void closeResult() {
+			QueryResult<T> closing = result;
+			result = null;
+			if (closing != null) closing.close();
+		}
+	}
+}
@@ -0,0 +1,302 @@
+package io.github.nahkd123.tableschema.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.QueryResult;
+
+/**
+ * <p>
+ * Table that caches rows by primary key in front of another table. Lookups by
+ * primary key ({@link #query(Object)} and {@link #query(Collection)}) are
+ * served from the cache, and missing rows are loaded from the underlying table.
+ * All other queries go straight to the underlying table.
+ * </p>
+ * <p>
+ * Cached rows are only used while {@link Table#version()} of the underlying
+ * table stays the same. Writes made through this table only remove the written
+ * rows from the cache. Any other change to the table made from this process
+ * (through another table object of the same database, writes by filter, or
+ * committing or rolling back a transaction) clears the entire cache, so this
+ * table is best suited for tables that are read much more often than they are
+ * written by other means. If the underlying table doesn't track changes, or current
+ * thread has uncommitted changes to the table, lookups are not cached at all,
+ * so other threads never see uncommitted rows. Changes made by another process
+ * are only picked up once the cached row expires, or after
+ * {@link #invalidate(Object)} or {@link #invalidateAll()}.
+ * </p>
+ * <p>
+ * The cache holds at most {@code capacity} rows, evicting least recently used
+ * rows first. Cached rows are returned as-is, so row objects should be
+ * immutable.
+ * </p>
+ *
+ * <pre>
+ * Table&lt;UUID, Task&gt; tasks = new CachingTable&lt;&gt;(db.table("tasks", Task.SCHEMA), 10000, Duration.ofMinutes(5));
+ * Task task = tasks.query(taskId).first();
+ * </pre>
+ *
+ * @param <K> Type of object's key.
+ * @param <R> Type of object.
+ * @see #stats()
+ */
+public class CachingTable<K, R> extends ForwardingTable<K, R> {
+	private int capacity;
+	private long ttlNanos;
+	private Map<K, Entry<R>> entries;
+	private long version = -1L;
+	private long hits = 0, misses = 0, evictions = 0, expirations = 0;
+
+	/**
+	 * <p>
+	 * Create a new caching table.
+	 * </p>
+	 *
+	 * @param table    The underlying table.
+	 * @param capacity Maximum number of cached rows.
+	 * @param ttl      How long a row can be cached since it was loaded, or
+	 *                 {@code null} to keep rows until they are evicted.
+	 */
+	public CachingTable(Table<K, R> table, int capacity, Duration ttl) {
+		super(table);
+		if (capacity < 0) throw new IllegalArgumentException("Capacity must not be negative");
+		this.capacity = capacity;
+		this.ttlNanos = ttl != null ? ttl.toNanos() : 0L;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<R>> eldest) {
+				if (size() <= CachingTable.this.capacity) return false;
+				evictions++;
+				return true;
+			}
+		};
+	}
+
+	public CachingTable(Table<K, R> table, int capacity) {
+		this(table, capacity, null);
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	private R get(K key, long version) {
+		synchronized (entries) {
+			Entry<R> entry = seen(version) ? entries.get(key) : null;
+
+			if (entry != null && ttlNanos > 0 && System.nanoTime() - entry.expiresAt() > 0) {
+				entries.remove(key);
+				expirations++;
+				entry = null;
+			}
+
+			if (entry != null) hits++;
+			else misses++;
+			return entry != null ? entry.row() : null;
+		}
+	}
+
+	private void put(Collection<R> rows, long version) {
+		synchronized (entries) {
+			// Rows loaded before a change must not be cached
+			if (!seen(version) || capacity == 0) return;
+			long expiresAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0L;
+
+			for (R row : rows) {
+				K key = primaryKey().getter().apply(row);
+				if (key != null) entries.put(key, new Entry<>(row, expiresAt));
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Catch up with version of the underlying table. Changes don't tell which
+	 * rows are changed, so all cached rows are outdated together.
+	 * </p>
+	 *
+	 * @return Whether the cache is at specified version.
+	 */
+	private boolean seen(long version) {
+		if (version > this.version) {
+			entries.clear();
+			this.version = version;
+		}
+
+		return version == this.version;
+	}
+
+	/**
+	 * <p>
+	 * Remove a row from the cache, so the next lookup loads it from the
+	 * underlying table.
+	 * </p>
+	 *
+	 * @param key The primary key of row.
+	 */
+	public void invalidate(K key) {
+		synchronized (entries) {
+			entries.remove(key);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Remove all rows from the cache.
+	 * </p>
+	 */
+	public void invalidateAll() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * <p>
+	 * Run a write to rows with specified keys. If the version of underlying table
+	 * only moved by this write, cached rows with these keys are removed and the
+	 * rest of the cache stays at the new version. Otherwise the change can't be
+	 * told apart from other changes, and the entire cache is cleared on next
+	 * lookup.
+	 * </p>
+	 *
+	 * @param keys    Primary keys of rows that may be changed by the write.
+	 * @param action  The write.
+	 * @param changed Whether the result of write says that rows were changed.
+	 *                Writes that changed nothing might not move the version.
+	 * @return The result of write.
+	 */
+	private <T> T write(Collection<K> keys, Supplier<T> action, Predicate<T> changed) {
+		long before = table.version();
+		T result = action.get();
+		long after = table.version();
+		if (before < 0 || after != before + 1 || !changed.test(result)) return result;
+
+		synchronized (entries) {
+			if (version == before) {
+				for (K key : keys) entries.remove(key);
+				version = after;
+			}
+		}
+
+		return result;
+	}
+
+	private List<K> keysOf(Collection<R> rows) {
+		return rows.stream().map(primaryKey().getter()).toList();
+	}
+
+	@Override
+	public int insert(Collection<R> values) {
+		return write(keysOf(values), () -> table.insert(values), count -> count > 0);
+	}
+
+	@Override
+	public int upsert(Collection<R> values) {
+		return write(keysOf(values), () -> table.upsert(values), count -> count > 0);
+	}
+
+	@Override
+	public int update(Collection<R> values) {
+		return write(keysOf(values), () -> table.update(values), count -> count > 0);
+	}
+
+	@Override
+	public boolean[] updateEach(Collection<R> values) {
+		return write(keysOf(values), () -> table.updateEach(values), updated -> {
+			for (boolean b : updated) if (b) return true;
+			return false;
+		});
+	}
+
+	@Override
+	public boolean delete(K key) {
+		return write(List.of(key), () -> table.delete(key), deleted -> deleted);
+	}
+
+	@Override
+	public int delete(Collection<K> keys) {
+		return write(keys, () -> table.delete(keys), count -> count > 0);
+	}
+
+	@Override
+	public QueryResult<R> query(K key) {
+		// Version must be read before the lookup, so changes made while loading outdate the row
+		long version = table.version();
+		if (version < 0) return table.query(key);
+
+		R row = get(key, version);
+		if (row != null) return QueryResult.of(List.of(row));
+
+		row = table.query(key).first();
+		if (row == null) return QueryResult.of(List.of());
+		put(List.of(row), version);
+		return QueryResult.of(List.of(row));
+	}
+
+	@Override
+	public QueryResult<R> query(Collection<K> keys) {
+		long version = table.version();
+		if (version < 0) return table.query(keys);
+
+		List<R> rows = new ArrayList<>(keys.size());
+		List<K> missing = new ArrayList<>();
+
+		for (K key : keys) {
+			R row = get(key, version);
+			if (row != null) rows.add(row);
+			else missing.add(key);
+		}
+
+		if (!missing.isEmpty()) {
+			List<R> loaded = table.query(missing).asList();
+			put(loaded, version);
+			rows.addAll(loaded);
+		}
+
+		return QueryResult.of(rows);
+	}
+
+	/**
+	 * <p>
+	 * Get a snapshot of cache counters.
+	 * </p>
+	 */
+	public Stats stats() {
+		synchronized (entries) {
+			return new Stats(hits, misses, evictions, expirations, entries.size());
+		}
+	}
+
+	private record Entry<R>(R row, long expiresAt) {
+	}
+
+	/**
+	 * <p>
+	 * Snapshot of row cache counters.
+	 * </p>
+	 *
+	 * @param hits        Number of primary key lookups served from cache.
+	 * @param misses      Number of primary key lookups that had to query the
+	 *                    underlying table.
+	 * @param evictions   Number of rows removed to make room for new rows.
+	 * @param expirations Number of rows removed because they were cached for too
+	 *                    long.
+	 * @param size        Number of rows currently in cache.
+	 */
+	public record Stats(long hits, long misses, long evictions, long expirations, int size) {
+		public double hitRatio() {
+			long total = hits + misses;
+			return total == 0 ? 0d : (double) hits / total;
+		}
+	}
+}
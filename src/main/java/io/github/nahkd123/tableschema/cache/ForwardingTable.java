@@ -0,0 +1,177 @@
+package io.github.nahkd123.tableschema.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.Assignment;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.PreparedQuery;
+import io.github.nahkd123.tableschema.query.QueryOptions;
+import io.github.nahkd123.tableschema.query.QueryResult;
+import io.github.nahkd123.tableschema.query.SortBy;
+import io.github.nahkd123.tableschema.schema.Field;
+
+/**
+ * <p>
+ * Table that forwards all operations to another table. Bulk methods are
+ * forwarded (including methods with default implementation), so optimized
+ * implementations of the underlying table are still used.
+ * </p>
+ * <p>
+ * Single row shortcuts ({@link #insert(Object)}, {@link #upsert(Object)},
+ * {@link #update(Object)}, {@link #deleteRow(Object)} and
+ * {@link #deleteRows(Collection)}), {@link #update(Filter, Field, Object)} and
+ * {@link #query(Filter, SortBy)} are not forwarded. Their default
+ * implementations call the forwarded methods of this table, so subclasses only
+ * have to override the bulk methods.
+ * </p>
+ */
+abstract class ForwardingTable<K, R> implements Table<K, R> {
+	protected Table<K, R> table;
+
+	protected ForwardingTable(Table<K, R> table) {
+		this.table = table;
+	}
+
+	/**
+	 * <p>
+	 * Get the underlying table.
+	 * </p>
+	 */
+	public Table<K, R> table() {
+		return table;
+	}
+
+	@Override
+	public MigrationReport migrate(boolean backup) {
+		return table.migrate(backup);
+	}
+
+	@Override
+	public long version() {
+		return table.version();
+	}
+
+	@Override
+	public void drop() {
+		table.drop();
+	}
+
+	@Override
+	public Field<R, K> primaryKey() {
+		return table.primaryKey();
+	}
+
+	@Override
+	public int insert(Collection<R> values) {
+		return table.insert(values);
+	}
+
+	@Override
+	public int upsert(Collection<R> values) {
+		return table.upsert(values);
+	}
+
+	@Override
+	public QueryResult<R> query(Filter<R> filter, SortBy<R> ordering) {
+		// Subclasses only have to override the overload with options
+		return query(filter, ordering, QueryOptions.DEFAULT);
+	}
+
+	@Override
+	public QueryResult<R> query(Filter<R> filter, SortBy<R> ordering, QueryOptions options) {
+		return table.query(filter, ordering, options);
+	}
+
+	@Override
+	public QueryResult<R> queryAfter(Filter<R> filter, SortBy<R> ordering, R after, int limit) {
+		return table.queryAfter(filter, ordering, after, limit);
+	}
+
+	@Override
+	public QueryResult<K> queryKeys(Filter<R> filter) {
+		return table.queryKeys(filter);
+	}
+
+	@Override
+	public <T> QueryResult<T> queryField(Field<R, T> field, Filter<R> filter) {
+		return table.queryField(field, filter);
+	}
+
+	@Override
+	public long count(Filter<R> filter) {
+		return table.count(filter);
+	}
+
+	@Override
+	public boolean exists(Filter<R> filter) {
+		return table.exists(filter);
+	}
+
+	@Override
+	public <T extends Comparable<? super T>> T min(Field<R, T> field, Filter<R> filter) {
+		return table.min(field, filter);
+	}
+
+	@Override
+	public <T extends Comparable<? super T>> T max(Field<R, T> field, Filter<R> filter) {
+		return table.max(field, filter);
+	}
+
+	@Override
+	public Number sum(Field<R, ? extends Number> field, Filter<R> filter) {
+		return table.sum(field, filter);
+	}
+
+	@Override
+	public <T> Map<T, Long> groupBy(Field<R, T> field, Filter<R> filter) {
+		return table.groupBy(field, filter);
+	}
+
+	@Override
+	public PreparedQuery<R> prepare(Filter<R> template, SortBy<R> ordering) {
+		return table.prepare(template, ordering);
+	}
+
+	@Override
+	public QueryResult<R> query(K key) {
+		return table.query(key);
+	}
+
+	@Override
+	public QueryResult<R> query(Collection<K> keys) {
+		return table.query(keys);
+	}
+
+	@Override
+	public int update(Collection<R> values) {
+		return table.update(values);
+	}
+
+	@Override
+	public boolean[] updateEach(Collection<R> values) {
+		return table.updateEach(values);
+	}
+
+	@Override
+	public int update(Filter<R> filter, List<Assignment<R, ?>> assignments) {
+		return table.update(filter, assignments);
+	}
+
+	@Override
+	public int delete(Filter<R> filter) {
+		return table.delete(filter);
+	}
+
+	@Override
+	public boolean delete(K key) {
+		return table.delete(key);
+	}
+
+	@Override
+	public int delete(Collection<K> keys) {
+		return table.delete(keys);
+	}
+}
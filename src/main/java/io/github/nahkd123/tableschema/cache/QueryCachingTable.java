@@ -0,0 +1,225 @@
+package io.github.nahkd123.tableschema.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.QueryOptions;
+import io.github.nahkd123.tableschema.query.QueryResult;
+import io.github.nahkd123.tableschema.query.SortBy;
+
+/**
+ * <p>
+ * Table that caches results of {@link #query(Filter, SortBy, QueryOptions)} in
+ * front of another table. Results are cached by filter, ordering, limit and
+ * offset, and filters are compared by value, so the same query built twice
+ * hits the same cache entry.
+ * </p>
+ * <p>
+ * Cached results are only used while {@link Table#version()} of the
+ * underlying table stays the same, so results are never outdated by changes
+ * made from this process (through any table object of the same database). If
+ * the underlying table doesn't track changes, or current thread has uncommitted
+ * changes to the table, queries are not cached at all.
+ * </p>
+ * <p>
+ * The cache holds at most {@code maxRows} rows in total, evicting least
+ * recently used results first. Results with more rows than that are never
+ * cached. Cached rows are returned as-is, so row objects should be immutable.
+ * </p>
+ *
+ * <pre>
+ * QueryCachingTable&lt;UUID, Task&gt; tasks = new QueryCachingTable&lt;&gt;(db.table("tasks", Task.SCHEMA), 100000);
+ * List&lt;Task&gt; waiting = tasks.query(Filter.eq(Task.STATUS, Status.WAITING), null).asList();
+ * </pre>
+ *
+ * @param <K> Type of object's key.
+ * @param <R> Type of object.
+ * @see #stats()
+ */
+public class QueryCachingTable<K, R> extends ForwardingTable<K, R> {
+	private int maxRows;
+	private Map<QueryKey, List<R>> results = new LinkedHashMap<>(16, 0.75f, true);
+	private long version = -1L;
+	private int rows = 0;
+	private long hits = 0, misses = 0, evictions = 0, invalidations = 0;
+
+	/**
+	 * <p>
+	 * Create a new query caching table.
+	 * </p>
+	 *
+	 * @param table   The underlying table.
+	 * @param maxRows Maximum number of rows in all cached results. Empty results
+	 *                count as 1 row.
+	 */
+	public QueryCachingTable(Table<K, R> table, int maxRows) {
+		super(table);
+		if (maxRows < 0) throw new IllegalArgumentException("Max rows must not be negative");
+		this.maxRows = maxRows;
+	}
+
+	public int maxRows() {
+		return maxRows;
+	}
+
+	private List<R> get(QueryKey key, long version) {
+		synchronized (results) {
+			List<R> cached = seen(version) ? results.get(key) : null;
+			if (cached != null) hits++;
+			else misses++;
+			return cached;
+		}
+	}
+
+	private void put(QueryKey key, long version, List<R> loaded) {
+		synchronized (results) {
+			// Rows loaded before a change must not be cached
+			if (!seen(version)) return;
+			List<R> previous = results.put(key, loaded);
+			if (previous != null) rows -= weightOf(previous);
+			rows += weightOf(loaded);
+
+			Iterator<List<R>> eldest = results.values().iterator();
+
+			while (rows > maxRows) {
+				rows -= weightOf(eldest.next());
+				eldest.remove();
+				evictions++;
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Catch up with version of the underlying table. All cached results belong
+	 * to the same table, so they are outdated together.
+	 * </p>
+	 *
+	 * @return Whether the cache is at specified version.
+	 */
+	private boolean seen(long version) {
+		if (version > this.version) {
+			invalidations += results.size();
+			clear(version);
+		}
+
+		return version == this.version;
+	}
+
+	private void clear(long version) {
+		results.clear();
+		rows = 0;
+		this.version = version;
+	}
+
+	private static int weightOf(List<?> rows) {
+		return Math.max(rows.size(), 1);
+	}
+
+	/**
+	 * <p>
+	 * Remove all results from the cache.
+	 * </p>
+	 */
+	public void invalidateAll() {
+		synchronized (results) {
+			invalidations += results.size();
+			clear(version);
+		}
+	}
+
+	@Override
+	public QueryResult<R> query(Filter<R> filter, SortBy<R> ordering, QueryOptions options) {
+		// Version must be read before the query, so changes made while querying outdate the result
+		long version = table.version();
+		if (version < 0 || maxRows == 0) return table.query(filter, ordering, options);
+
+		QueryKey key = new QueryKey(filter, ordering, options.maxRows(), options.limit(), options.offset());
+		List<R> cached = get(key, version);
+		if (cached != null) return QueryResult.of(cached);
+
+		QueryResult<R> result = table.query(filter, ordering, options);
+		List<R> loaded = new ArrayList<>();
+		R row = null;
+
+		try {
+			while (loaded.size() <= maxRows && (row = result.nextRow()) != null) loaded.add(row);
+		} catch (RuntimeException e) {
+			result.close();
+			throw e;
+		}
+
+		if (row != null) return resume(loaded, result);
+		result.close();
+		loaded = List.copyOf(loaded);
+		put(key, version, loaded);
+		return QueryResult.of(loaded);
+	}
+
+	/**
+	 * <p>
+	 * Continue a result that is too large to be cached, starting with rows that
+	 * were already read from it.
+	 * </p>
+	 */
+	private static <R> QueryResult<R> resume(List<R> read, QueryResult<R> rest) {
+		Iterator<R> iterator = read.iterator();
+		return new QueryResult<R>() {
+			@Override
+			public R nextRow() {
+				return iterator.hasNext() ? iterator.next() : rest.nextRow();
+			}
+
+			@Override
+			public void close() {
+				rest.close();
+			}
+		};
+	}
+
+	/**
+	 * <p>
+	 * Get a snapshot of cache counters.
+	 * </p>
+	 */
+	public Stats stats() {
+		synchronized (results) {
+			return new Stats(hits, misses, evictions, invalidations, results.size(), rows);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Query identity. Fetch size is left out since it doesn't change the rows.
+	 * </p>
+	 */
+	private record QueryKey(Filter<?> filter, SortBy<?> ordering, int maxRows, int limit, long offset) {
+	}
+
+	/**
+	 * <p>
+	 * Snapshot of query cache counters.
+	 * </p>
+	 *
+	 * @param hits          Number of queries served from cache.
+	 * @param misses        Number of queries that had to query the underlying
+	 *                      table.
+	 * @param evictions     Number of results removed to make room for new
+	 *                      results.
+	 * @param invalidations Number of results removed because the underlying
+	 *                      table was changed.
+	 * @param size          Number of results currently in cache.
+	 * @param rows          Number of rows in all cached results.
+	 */
+	public record Stats(long hits, long misses, long evictions, long invalidations, int size, int rows) {
+		public double hitRatio() {
+			long total = hits + misses;
+			return total == 0 ? 0d : (double) hits / total;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import io.github.nahkd123.tableschema.query.QueryResult;
+
+/**
+ * <p>
+ * Query result that is made of multiple query results, one after another. Only
+ * one of them is opened at a time.
+ * </p>
+ */
+class JdbcChainedQueryResult<T> implements QueryResult<T> {
+	private Iterator<Supplier<QueryResult<T>>> parts;
+	private QueryResult<T> current = null;
+	private boolean closed = false;
+
+	public JdbcChainedQueryResult(Iterator<Supplier<QueryResult<T>>> parts) {
+		this.parts = parts;
+	}
+
+	@Override
+	public T nextRow() {
+		while (!closed) {
+			if (current == null) {
+				if (!parts.hasNext()) return null;
+				current = parts.next().get();
+			}
+
+			T row = current.nextRow();
+			if (row != null) return row;
+			current.close();
+			current = null;
+		}
+
+		return null;
+	}
+
+	@Override
+	public void close() {
+		if (closed) return;
+		closed = true;
+
+		if (current != null) {
+			current.close();
+			current = null;
+		}
+	}
+}
@@ -0,0 +1,226 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A small connection pool. Connections are created on demand up to maximum
+ * pool size, and connections that stayed idle for longer than idle timeout
+ * will be closed. If all connections are in use, borrowing a connection will
+ * wait until one of them is given back, or until acquisition timeout.
+ * </p>
+ * <p>
+ * The pool never blocks while holding a monitor, so it can be used from
+ * virtual threads without pinning them to their carrier threads. Idle
+ * connections are evicted when connections are borrowed or given back, so the
+ * pool does not need a background thread.
+ * </p>
+ *
+ * <pre>
+ * JdbcConnectionPool pool = new JdbcConnectionPool(
+ * 	() -&gt; DriverManager.getConnection("jdbc:sqlite:my_database.db"),
+ * 	8, Duration.ofMinutes(5), Duration.ofSeconds(30), 64);
+ *
+ * try (JdbcDatabase db = new JdbcDatabase(pool)) {
+ * 	// ...
+ * }
+ * </pre>
+ */
+public class JdbcConnectionPool implements JdbcConnectionSource {
+	private ConnectionFactory factory;
+	private int maxSize;
+	private long idleTimeoutNanos, acquireTimeoutNanos;
+	private int statementCacheSize;
+	private Semaphore permits;
+	private Deque<Idle> idle = new ConcurrentLinkedDeque<>();
+	private Map<Connection, JdbcStatementCache> opened = new ConcurrentHashMap<>();
+	private Set<Connection> borrowed = ConcurrentHashMap.newKeySet();
+	private volatile boolean closed = false;
+
+	/**
+	 * <p>
+	 * Create a new connection pool.
+	 * </p>
+	 *
+	 * @param factory            The factory for creating new connections.
+	 * @param maxSize            Maximum number of connections that can be opened
+	 *                           at the same time.
+	 * @param idleTimeout        Maximum duration a connection can stay idle in
+	 *                           the pool before it is closed.
+	 * @param acquireTimeout     Maximum duration to wait for a connection when
+	 *                           all connections are in use.
+	 * @param statementCacheSize Maximum number of prepared statements to keep for
+	 *                           each connection.
+	 */
+	public JdbcConnectionPool(ConnectionFactory factory, int maxSize, Duration idleTimeout, Duration acquireTimeout, int statementCacheSize) {
+		if (maxSize < 1) throw new IllegalArgumentException("Pool size must be at least 1");
+		this.factory = factory;
+		this.maxSize = maxSize;
+		this.idleTimeoutNanos = idleTimeout.toNanos();
+		this.acquireTimeoutNanos = acquireTimeout.toNanos();
+		this.statementCacheSize = statementCacheSize;
+		this.permits = new Semaphore(maxSize, true);
+	}
+
+	public int maxSize() {
+		return maxSize;
+	}
+
+	@Override
+	public int maxConnections() {
+		return maxSize;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of connections currently opened by this pool, including both
+	 * idle and borrowed connections.
+	 * </p>
+	 */
+	public int size() {
+		return opened.size();
+	}
+
+	/**
+	 * <p>
+	 * Get the number of idle connections in this pool.
+	 * </p>
+	 */
+	public int idleSize() {
+		return idle.size();
+	}
+
+	@Override
+	public Connection acquire() throws SQLException {
+		if (closed) throw new SQLException("Connection pool is closed");
+
+		try {
+			if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS))
+				throw new SQLTimeoutException("Timed out while waiting for connection");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for connection", e);
+		}
+
+		try {
+			evictIdle();
+			Idle entry;
+
+			// Most recently used connection first, so the rest can be evicted
+			while ((entry = idle.pollFirst()) != null) {
+				if (!entry.connection().isClosed()) return borrow(entry.connection());
+				discard(entry.connection());
+			}
+
+			Connection connection = factory.create();
+			opened.put(connection, new JdbcStatementCache(connection, statementCacheSize));
+			return borrow(connection);
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private Connection borrow(Connection connection) {
+		borrowed.add(connection);
+		return connection;
+	}
+
+	/**
+	 * <p>
+	 * Give a borrowed connection back to this pool.
+	 * </p>
+	 *
+	 * @throws IllegalStateException if the connection is not borrowed from this
+	 *                               pool, or if it was already given back.
+	 */
+	@Override
+	public void release(Connection connection) throws SQLException {
+		// Giving back the same connection twice would let 2 borrowers share it
+		if (!borrowed.remove(connection))
+			throw new IllegalStateException("Connection is not borrowed from this pool");
+
+		try {
+			if (closed || connection.isClosed()) {
+				discard(connection);
+			} else {
+				if (!connection.getAutoCommit()) {
+					// Someone forgot to end their transaction
+					connection.rollback();
+					connection.setAutoCommit(true);
+				}
+
+				idle.offerFirst(new Idle(connection, System.nanoTime()));
+			}
+		} catch (SQLException | RuntimeException e) {
+			discard(connection);
+			throw e;
+		} finally {
+			permits.release();
+		}
+
+		evictIdle();
+	}
+
+	private void evictIdle() {
+		long now = System.nanoTime();
+		Idle entry;
+
+		while ((entry = idle.peekLast()) != null && now - entry.since() > idleTimeoutNanos) {
+			if (idle.removeLastOccurrence(entry)) discard(entry.connection());
+		}
+	}
+
+	private void discard(Connection connection) {
+		JdbcStatementCache cache = opened.remove(connection);
+		if (cache != null) cache.close();
+
+		try {
+			connection.close();
+		} catch (SQLException e) {
+			// Connection is no longer used anyway
+		}
+	}
+
+	@Override
+	public JdbcStatementCache statementCache(Connection connection) {
+		return opened.get(connection);
+	}
+
+	@Override
+	public List<JdbcStatementCache> statementCaches() {
+		return List.copyOf(opened.values());
+	}
+
+	/**
+	 * <p>
+	 * Close all idle connections and stop accepting new borrowers. Borrowed
+	 * connections will be closed when they are given back.
+	 * </p>
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		Idle entry;
+		while ((entry = idle.pollFirst()) != null) discard(entry.connection());
+	}
+
+	@FunctionalInterface
+	public static interface ConnectionFactory {
+		Connection create() throws SQLException;
+	}
+
+	private record Idle(Connection connection, long since) {
+	}
+}
@@ -0,0 +1,171 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+/**
+ * <p>
+ * Source of JDBC connections for {@link JdbcDatabase}. Tables borrow a
+ * connection for each operation (or for each open query result) and give it
+ * back once they are done. Connections used by an active transaction are
+ * borrowed for the entire transaction.
+ * </p>
+ *
+ * @see #of(Connection, int)
+ * @see #of(DataSource)
+ * @see JdbcConnectionPool
+ */
+public interface JdbcConnectionSource extends AutoCloseable {
+	/**
+	 * <p>
+	 * Borrow a connection from this source.
+	 * </p>
+	 *
+	 * @return The connection.
+	 */
+	Connection acquire() throws SQLException;
+
+	/**
+	 * <p>
+	 * Give the connection back to this source.
+	 * </p>
+	 *
+	 * @param connection The connection obtained from {@link #acquire()}.
+	 */
+	void release(Connection connection) throws SQLException;
+
+	/**
+	 * <p>
+	 * Get the maximum number of connections that can be borrowed from this source
+	 * at the same time.
+	 * </p>
+	 *
+	 * @return The maximum number of connections, or {@link Integer#MAX_VALUE} if
+	 *         it is unknown.
+	 */
+	default int maxConnections() {
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * <p>
+	 * Get the prepared statement cache for connection obtained from this source.
+	 * </p>
+	 *
+	 * @param connection The connection obtained from {@link #acquire()}.
+	 * @return The statement cache, or {@code null} if statements for this
+	 *         connection shouldn't be cached.
+	 */
+	default JdbcStatementCache statementCache(Connection connection) {
+		return null;
+	}
+
+	/**
+	 * <p>
+	 * Get all prepared statement caches of connections that are currently opened
+	 * by this source.
+	 * </p>
+	 *
+	 * @return A list of statement caches.
+	 */
+	default List<JdbcStatementCache> statementCaches() {
+		return List.of();
+	}
+
+	/**
+	 * <p>
+	 * Close this source and all connections that are owned by this source.
+	 * </p>
+	 */
+	@Override
+	void close();
+
+	/**
+	 * <p>
+	 * Use a single connection for everything. Just like the connection itself,
+	 * tables using this source must not be used from multiple threads at the same
+	 * time.
+	 * </p>
+	 *
+	 * @param connection         The connection.
+	 * @param statementCacheSize Maximum number of prepared statements to keep.
+	 * @return A new connection source.
+	 */
+	static JdbcConnectionSource of(Connection connection, int statementCacheSize) {
+		JdbcStatementCache cache = new JdbcStatementCache(connection, statementCacheSize);
+		return new JdbcConnectionSource() {
+			@Override
+			public Connection acquire() throws SQLException {
+				return connection;
+			}
+
+			@Override
+			public void release(Connection connection) throws SQLException {}
+
+			@Override
+			public int maxConnections() {
+				return 1;
+			}
+
+			@Override
+			public JdbcStatementCache statementCache(Connection connection) {
+				return cache;
+			}
+
+			@Override
+			public List<JdbcStatementCache> statementCaches() {
+				return List.of(cache);
+			}
+
+			@Override
+			public void close() {
+				try {
+					cache.close();
+					connection.close();
+				} catch (SQLException e) {
+					throw new RuntimeException("Error while closing database connection", e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * <p>
+	 * Obtain a new connection from data source for each operation, and close it
+	 * after the operation. Data sources are usually backed by a connection pool,
+	 * and closing the connection will give it back to the pool. Prepared
+	 * statements are not cached by TableSchema, so you may want to enable
+	 * statement caching in your pool or driver.
+	 * </p>
+	 *
+	 * @param dataSource The data source.
+	 * @return A new connection source.
+	 */
+	static JdbcConnectionSource of(DataSource dataSource) {
+		return new JdbcConnectionSource() {
+			@Override
+			public Connection acquire() throws SQLException {
+				return dataSource.getConnection();
+			}
+
+			@Override
+			public void release(Connection connection) throws SQLException {
+				connection.close();
+			}
+
+			@Override
+			public void close() {
+				if (dataSource instanceof AutoCloseable closeable) {
+					try {
+						closeable.close();
+					} catch (Exception e) {
+						throw new RuntimeException("Error while closing data source", e);
+					}
+				}
+			}
+		};
+	}
+}
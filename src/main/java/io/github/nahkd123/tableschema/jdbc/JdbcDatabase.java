@@ -2,38 +2,245 @@ package io.github.nahkd123.tableschema.jdbc;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
 
 import io.github.nahkd123.tableschema.Database;
 import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.Transaction;
 import io.github.nahkd123.tableschema.jdbc.schema.JdbcSchema;
 import io.github.nahkd123.tableschema.schema.Schema;
 
 /**
  * <p>
  * The TableSchema JDBC wrapper for JDBC connections. Closing the database will
- * also close the connection that was supplied to constructor of this class.
+ * also close the connection (or connection source) that was supplied to
+ * constructor of this class.
+ * </p>
+ * <p>
+ * Tables borrow a connection from {@link JdbcConnectionSource} for each
+ * operation, or for each open query result. Database backed by a single
+ * connection must not be used from multiple threads at the same time, while
+ * database backed by {@link DataSource} or {@link JdbcConnectionPool} can be
+ * shared between threads.
+ * </p>
+ * <p>
+ * Transactions are bound to the thread that began them. Every table obtained
+ * from this database will join the active transaction of current thread.
  * </p>
  * 
  * @see Database
  */
 public class JdbcDatabase implements Database {
-	private Connection sql;
+	private JdbcConnectionSource source;
+	private Options options;
+	private ThreadLocal<JdbcTransaction> transaction = new ThreadLocal<>();
+	private Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+	private volatile JdbcDialect dialect = null;
+
+	public JdbcDatabase(JdbcConnectionSource source, Options options) {
+		this.source = source;
+		this.options = options;
+	}
+
+	public JdbcDatabase(JdbcConnectionSource source) {
+		this(source, Options.DEFAULT);
+	}
+
+	public JdbcDatabase(DataSource dataSource, Options options) {
+		this(JdbcConnectionSource.of(dataSource), options);
+	}
+
+	public JdbcDatabase(DataSource dataSource) {
+		this(dataSource, Options.DEFAULT);
+	}
+
+	public JdbcDatabase(Connection sql, Options options) {
+		this(JdbcConnectionSource.of(sql, options.statementCacheSize()), options);
+	}
 
 	public JdbcDatabase(Connection sql) {
-		this.sql = sql;
+		this(sql, Options.DEFAULT);
+	}
+
+	public Options options() {
+		return options;
+	}
+
+	@Override
+	public int maxConcurrency() {
+		return source.maxConnections();
+	}
+
+	/**
+	 * <p>
+	 * Get the combined counters of all prepared statement caches used by this
+	 * database.
+	 * </p>
+	 * 
+	 * @return The statement cache counters.
+	 */
+	public JdbcStatementCache.Stats statementCacheStats() {
+		JdbcStatementCache.Stats stats = JdbcStatementCache.Stats.EMPTY;
+		for (JdbcStatementCache cache : source.statementCaches()) stats = stats.plus(cache.stats());
+		return stats;
+	}
+
+	/**
+	 * <p>
+	 * Borrow a connection for a single operation. If current thread have an
+	 * active transaction, the connection of transaction will be used instead.
+	 * </p>
+	 */
+	JdbcLease lease() throws SQLException {
+		JdbcTransaction active = transaction.get();
+		Connection sql = active != null ? active.connection() : source.acquire();
+		return new JdbcLease(this, sql, source.statementCache(sql), active);
+	}
+
+	/**
+	 * <p>
+	 * Give back a connection that was borrowed for a lease outside of
+	 * transaction.
+	 * </p>
+	 */
+	void release(Connection sql) throws SQLException {
+		source.release(sql);
+	}
+
+	/**
+	 * <p>
+	 * Get the SQL dialect of this database, which is either specified in options
+	 * or detected from metadata of connection.
+	 * </p>
+	 * 
+	 * @return The dialect, or {@code null} if the database is not known.
+	 */
+	public JdbcDialect dialect() throws SQLException {
+		if (options.dialect() != null) return options.dialect();
+		JdbcDialect detected = dialect;
+		if (detected != null) return detected;
+
+		try (JdbcLease lease = lease()) {
+			return dialect = JdbcDialect.detect(lease.connection().getMetaData());
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the write version counter of a table. Tables with the same name share
+	 * the same counter.
+	 * </p>
+	 */
+	AtomicLong version(String table) {
+		return versions.computeIfAbsent(table, name -> new AtomicLong());
 	}
 
 	@Override
 	public <K, R> Table<K, R> table(String name, Schema<K, R> schema) {
-		return new JdbcTable<>(sql, name, schema.primaryKey(), JdbcSchema.map(schema));
+		return new JdbcTable<>(this, name, schema.primaryKey(), JdbcSchema.map(schema));
 	}
 
 	@Override
-	public void close() {
+	public Transaction beginTransaction() {
+		JdbcTransaction parent = transaction.get();
+		Connection sql = null;
+
+		try {
+			sql = parent != null ? parent.connection() : source.acquire();
+			JdbcTransaction created = new JdbcTransaction(this, sql, parent);
+			transaction.set(created);
+			return created;
+		} catch (SQLException e) {
+			if (parent == null && sql != null) releaseQuietly(sql, e);
+			throw new RuntimeException("Error while beginning transaction", e);
+		}
+	}
+
+	JdbcTransaction currentTransaction() {
+		return transaction.get();
+	}
+
+	void endTransaction(JdbcTransaction ended) {
+		if (transaction.get() != ended) return;
+
+		if (ended.parent() != null) {
+			transaction.set(ended.parent());
+		} else {
+			transaction.remove();
+
+			try {
+				source.release(ended.connection());
+			} catch (SQLException e) {
+				throw new RuntimeException("Error while releasing database connection", e);
+			}
+		}
+	}
+
+	private void releaseQuietly(Connection sql, SQLException cause) {
 		try {
-			sql.close();
+			source.release(sql);
 		} catch (SQLException e) {
-			throw new RuntimeException("Error while closing database connection", e);
+			cause.addSuppressed(e);
+		}
+	}
+
+	@Override
+	public void close() {
+		source.close();
+	}
+
+	/**
+	 * <p>
+	 * Tuning options for JDBC tables.
+	 * </p>
+	 * 
+	 * @param batchSize          Maximum number of rows to send in a single JDBC
+	 *                           batch. Each batch is committed in its own
+	 *                           transaction.
+	 * @param statementCacheSize Maximum number of prepared statements to keep
+	 *                           open for reuse when the database is backed by a
+	 *                           single connection. This also limits the number
+	 *                           of compiled filters kept by each table. Use
+	 *                           {@code 0} to disable caching.
+	 * @param maxParameters      Maximum number of parameters in a single
+	 *                           statement. Bulk lookups and deletes by primary
+	 *                           key are split into multiple statements to stay
+	 *                           below this limit.
+	 * @param dialect            SQL dialect for statements that are not
+	 *                           portable, like upsert. Use {@code null} to detect
+	 *                           it from connection metadata.
+	 */
+	public record Options(int batchSize, int statementCacheSize, int maxParameters, JdbcDialect dialect) {
+		public static final Options DEFAULT = new Options(1000, 64, 999, null);
+
+		public Options {
+			if (batchSize < 1) throw new IllegalArgumentException("Batch size must be at least 1");
+			if (statementCacheSize < 0) throw new IllegalArgumentException("Statement cache size must not be negative");
+			if (maxParameters < 1) throw new IllegalArgumentException("Max parameters must be at least 1");
+		}
+
+		public Options(int batchSize, int statementCacheSize, int maxParameters) {
+			this(batchSize, statementCacheSize, maxParameters, null);
+		}
+
+		public Options withBatchSize(int batchSize) {
+			return new Options(batchSize, statementCacheSize, maxParameters, dialect);
+		}
+
+		public Options withStatementCacheSize(int statementCacheSize) {
+			return new Options(batchSize, statementCacheSize, maxParameters, dialect);
+		}
+
+		public Options withMaxParameters(int maxParameters) {
+			return new Options(batchSize, statementCacheSize, maxParameters, dialect);
+		}
+
+		public Options withDialect(JdbcDialect dialect) {
+			return new Options(batchSize, statementCacheSize, maxParameters, dialect);
 		}
 	}
 }
@@ -0,0 +1,94 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * SQL statements that are written differently by each database. Everything
+ * else is generated as portable SQL.
+ * </p>
+ *
+ * @see JdbcDatabase.Options#withDialect(JdbcDialect)
+ */
+public enum JdbcDialect {
+	/**
+	 * <p>
+	 * SQLite 3.24 or newer, using {@code INSERT ... ON CONFLICT}.
+	 * </p>
+	 */
+	SQLITE {
+		@Override
+		public String upsertCode(String insertCode, String primaryKey, List<String> columns) {
+			return onConflictCode(insertCode, primaryKey, columns);
+		}
+	},
+	/**
+	 * <p>
+	 * PostgreSQL 9.5 or newer, using {@code INSERT ... ON CONFLICT}.
+	 * </p>
+	 */
+	POSTGRESQL {
+		@Override
+		public String upsertCode(String insertCode, String primaryKey, List<String> columns) {
+			return onConflictCode(insertCode, primaryKey, columns);
+		}
+	},
+	/**
+	 * <p>
+	 * MySQL and MariaDB, using {@code INSERT ... ON DUPLICATE KEY UPDATE}. The
+	 * connection must use {@code ANSI_QUOTES} SQL mode, since column names are
+	 * quoted with double quotes.
+	 * </p>
+	 */
+	MYSQL {
+		@Override
+		public String upsertCode(String insertCode, String primaryKey, List<String> columns) {
+			// Assigning primary key to itself changes nothing, like DO NOTHING
+			List<String> assigned = columns.isEmpty() ? List.of(primaryKey) : columns;
+			return "%s ON DUPLICATE KEY UPDATE %s".formatted(insertCode, assigned.stream()
+				.map(c -> "\"%s\" = VALUES(\"%s\")".formatted(c, c))
+				.collect(Collectors.joining(", ")));
+		}
+	};
+
+	/**
+	 * <p>
+	 * Generate SQL code that inserts a row, or updates all columns of existing
+	 * row with the same primary key.
+	 * </p>
+	 *
+	 * @param insertCode The parameterized insert statement.
+	 * @param primaryKey The primary key column.
+	 * @param columns    The columns other than primary key.
+	 * @return SQL code for upserting a row.
+	 */
+	public abstract String upsertCode(String insertCode, String primaryKey, List<String> columns);
+
+	private static String onConflictCode(String insertCode, String primaryKey, List<String> columns) {
+		String conflict = columns.isEmpty()
+			? "DO NOTHING"
+			: "DO UPDATE SET %s".formatted(columns.stream()
+				.map(c -> "\"%s\" = excluded.\"%s\"".formatted(c, c))
+				.collect(Collectors.joining(", ")));
+		return "%s ON CONFLICT (\"%s\") %s".formatted(insertCode, primaryKey, conflict);
+	}
+
+	/**
+	 * <p>
+	 * Find the dialect of a database from its product name.
+	 * </p>
+	 *
+	 * @param metadata The metadata of database connection.
+	 * @return The dialect, or {@code null} if the database is not known.
+	 */
+	public static JdbcDialect detect(DatabaseMetaData metadata) throws SQLException {
+		String product = metadata.getDatabaseProductName().toLowerCase();
+		if (product.contains("sqlite")) return SQLITE;
+		if (product.contains("postgres")) return POSTGRESQL;
+		if (product.contains("mysql") || product.contains("mariadb")) return MYSQL;
+		return null;
+	}
+}
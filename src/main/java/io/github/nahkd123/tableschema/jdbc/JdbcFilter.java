@@ -1,6 +1,8 @@
 package io.github.nahkd123.tableschema.jdbc;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -9,8 +11,25 @@ import io.github.nahkd123.tableschema.query.Filter;
 import io.github.nahkd123.tableschema.schema.Field;
 
 public record JdbcFilter(String sql, JdbcFieldType<?> valueType, Object value, List<JdbcFilter> children) {
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static JdbcFilter map(String table, Filter<?> filter, boolean parametric) {
+		return map(table, filter, parametric, 0);
+	}
+
+	/**
+	 * <p>
+	 * Map filter to SQL code.
+	 * </p>
+	 * 
+	 * @param table      The table for qualifying column names, or {@code null}.
+	 * @param filter     The filter.
+	 * @param parametric Whether values are passed as parameters.
+	 * @param maxInWidth Maximum number of parameters that an {@code IN} list can
+	 *                   be padded to, or {@code 0} to never pad lists.
+	 * @return The mapped filter.
+	 * @see #inWidth(int, int)
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static JdbcFilter map(String table, Filter<?> filter, boolean parametric, int maxInWidth) {
 		return switch (filter) {
 		case Filter.Compare(Field<?, ?> field, int op, Object value): {
 			JdbcFieldType<?> type = JdbcFieldType.map(field.type());
@@ -28,17 +47,45 @@ public record JdbcFilter(String sql, JdbcFieldType<?> valueType, Object value, L
 				: "\"%s\" %s %s".formatted(field.label(), cmpOp, cmpAgainst);
 			yield new JdbcFilter(sql, parametric ? type : null, parametric ? value : null, null);
 		}
+		case Filter.In(Field<?, ?> field, List<?> values): {
+			String column = table != null
+				? "\"%s\".\"%s\"".formatted(table, field.label())
+				: "\"%s\"".formatted(field.label());
+			if (values.isEmpty()) yield new JdbcFilter("1 = 0", null, null, null);
+
+			// Each value is a child so parameters are filled in the same order
+			JdbcFieldType<?> type = JdbcFieldType.map(field.type());
+			List<JdbcFilter> cs = values.stream().map(value -> parametric
+				? new JdbcFilter("?", type, value, null)
+				: new JdbcFilter(((JdbcFieldType) type).valueToCode(value), null, null, null))
+				.toList();
+
+			if (parametric && inWidth(values.size(), maxInWidth) > cs.size()) {
+				List<JdbcFilter> padded = new ArrayList<>(cs);
+				while (padded.size() < inWidth(values.size(), maxInWidth)) padded.add(cs.getLast());
+				cs = padded;
+			}
+
+			String sql = cs.stream().map(c -> c.sql).collect(Collectors.joining(", "));
+			yield new JdbcFilter("%s IN (%s)".formatted(column, sql), null, null, cs);
+		}
+		case Filter.IsNull(Field<?, ?> field): {
+			String sql = table != null
+				? "\"%s\".\"%s\" IS NULL".formatted(table, field.label())
+				: "\"%s\" IS NULL".formatted(field.label());
+			yield new JdbcFilter(sql, null, null, null);
+		}
 		case Filter.Not(Filter<?> child): {
-			JdbcFilter childFilter = map(table, child, parametric);
+			JdbcFilter childFilter = map(table, child, parametric, maxInWidth);
 			yield new JdbcFilter("NOT (%s)".formatted(childFilter.sql), null, null, List.of(childFilter));
 		}
 		case Filter.And(List<?> children): {
-			List<JdbcFilter> cs = children.stream().map(child -> map(table, (Filter<?>) child, parametric)).toList();
+			List<JdbcFilter> cs = children.stream().map(child -> map(table, (Filter<?>) child, parametric, maxInWidth)).toList();
 			String sql = cs.stream().map(c -> c.sql).collect(Collectors.joining(" AND "));
 			yield new JdbcFilter("(%s)".formatted(sql), null, null, cs);
 		}
 		case Filter.Or(List<?> children): {
-			List<JdbcFilter> cs = children.stream().map(child -> map(table, (Filter<?>) child, parametric)).toList();
+			List<JdbcFilter> cs = children.stream().map(child -> map(table, (Filter<?>) child, parametric, maxInWidth)).toList();
 			String sql = cs.stream().map(c -> c.sql).collect(Collectors.joining(" OR "));
 			yield new JdbcFilter("(%s)".formatted(sql), null, null, cs);
 		}
@@ -63,6 +110,132 @@ public record JdbcFilter(String sql, JdbcFieldType<?> valueType, Object value, L
 		fillParameters(0, filler);
 	}
 
+	/**
+	 * <p>
+	 * Get the types of all parameters in this filter, in the same order as
+	 * {@link #fillParameters(Filler)}.
+	 * </p>
+	 * 
+	 * @return A list of parameter types.
+	 */
+	public List<JdbcFieldType<?>> parameterTypes() {
+		List<JdbcFieldType<?>> types = new ArrayList<>();
+		collectParameterTypes(types);
+		return Collections.unmodifiableList(types);
+	}
+
+	private void collectParameterTypes(List<JdbcFieldType<?>> types) {
+		if (valueType != null) types.add(valueType);
+		if (children != null) for (JdbcFilter child : children) child.collectParameterTypes(types);
+	}
+
+	/**
+	 * <p>
+	 * Fill parameters with values from filter that have the same shape as the
+	 * filter used to derive parameter types. This skips mapping the filter again,
+	 * which is useful when the SQL code is already known.
+	 * </p>
+	 * 
+	 * @param filter     The filter to take values from.
+	 * @param types      The parameter types from {@link #parameterTypes()}.
+	 * @param maxInWidth The same value that was used for mapping the filter.
+	 * @param filler     The parameters filler.
+	 * @see #shapeOf(Filter, int)
+	 */
+	public static void fillParameters(Filter<?> filter, List<JdbcFieldType<?>> types, int maxInWidth, Filler filler) throws SQLException {
+		fillParameters(filter, types, maxInWidth, 0, filler);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int fillParameters(Filter<?> filter, List<JdbcFieldType<?>> types, int maxInWidth, int baseIndex, Filler filler) throws SQLException {
+		switch (filter) {
+		case Filter.Compare(Field<?, ?> field, int op, Object value):
+			filler.fill(baseIndex, (JdbcFieldType) types.get(baseIndex), value);
+			return baseIndex + 1;
+		case Filter.In(Field<?, ?> field, List<?> values):
+			for (int i = 0, width = inWidth(values.size(), maxInWidth); i < width; i++) {
+				// Padded parameters repeat the last value
+				Object value = values.get(Math.min(i, values.size() - 1));
+				filler.fill(baseIndex, (JdbcFieldType) types.get(baseIndex), value);
+				baseIndex++;
+			}
+			return baseIndex;
+		case Filter.IsNull(Field<?, ?> field):
+			return baseIndex;
+		case Filter.Not(Filter<?> child):
+			return fillParameters(child, types, maxInWidth, baseIndex, filler);
+		case Filter.And(List<?> children):
+			for (Object child : children) baseIndex = fillParameters((Filter<?>) child, types, maxInWidth, baseIndex, filler);
+			return baseIndex;
+		case Filter.Or(List<?> children):
+			for (Object child : children) baseIndex = fillParameters((Filter<?>) child, types, maxInWidth, baseIndex, filler);
+			return baseIndex;
+		default:
+			throw new IllegalArgumentException("Unexpected value: " + filter);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Get the number of parameters for {@code IN} list with specified number of
+	 * values. Lists are padded to the next power of two (or to
+	 * {@code maxInWidth} if that is smaller), so lists of different sizes share
+	 * the same SQL code and prepared statement. Lists that are longer than
+	 * {@code maxInWidth} are never padded.
+	 * </p>
+	 * 
+	 * @param size       Number of values in list.
+	 * @param maxInWidth Maximum number of parameters, or {@code 0} to never pad
+	 *                   lists.
+	 * @return Number of parameters.
+	 */
+	public static int inWidth(int size, int maxInWidth) {
+		if (size <= 1) return size;
+		int width = Integer.highestOneBit(size - 1) << 1;
+		return width <= maxInWidth ? width : Math.max(size, maxInWidth);
+	}
+
+	/**
+	 * <p>
+	 * Get the shape of filter. Shape is the structure and fields of filter without
+	 * values, so two filters with the same shape will be mapped to the same SQL
+	 * code.
+	 * </p>
+	 * 
+	 * @param filter     The filter.
+	 * @param maxInWidth The same value that is used for mapping the filter.
+	 * @return The shape, which can be used as key in hash maps.
+	 */
+	public static Object shapeOf(Filter<?> filter, int maxInWidth) {
+		return switch (filter) {
+		case Filter.Compare(Field<?, ?> field, int op, Object value) -> new CompareShape(field, op);
+		case Filter.In(Field<?, ?> field, List<?> values) -> new InShape(field, inWidth(values.size(), maxInWidth));
+		case Filter.IsNull(Field<?, ?> field) -> new IsNullShape(field);
+		case Filter.Not(Filter<?> child) -> new NotShape(shapeOf(child, maxInWidth));
+		case Filter.And(List<?> children) -> new AndShape(children.stream().map(c -> shapeOf((Filter<?>) c, maxInWidth)).toList());
+		case Filter.Or(List<?> children) -> new OrShape(children.stream().map(c -> shapeOf((Filter<?>) c, maxInWidth)).toList());
+		default -> throw new IllegalArgumentException("Unexpected value: " + filter);
+		};
+	}
+
+	private record CompareShape(Field<?, ?> field, int op) {
+	}
+
+	private record InShape(Field<?, ?> field, int size) {
+	}
+
+	private record IsNullShape(Field<?, ?> field) {
+	}
+
+	private record NotShape(Object child) {
+	}
+
+	private record AndShape(List<Object> children) {
+	}
+
+	private record OrShape(List<Object> children) {
+	}
+
 	public static interface Filler {
 		<T> void fill(int index, JdbcFieldType<T> valueType, T value) throws SQLException;
 	}
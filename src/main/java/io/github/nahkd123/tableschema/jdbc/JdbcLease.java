@@ -0,0 +1,82 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * <p>
+ * A connection borrowed from {@link JdbcDatabase} for a single operation, along
+ * with its statement cache (if any). Closing the lease gives the connection
+ * back to the database.
+ * </p>
+ * <p>
+ * Leases taken inside a transaction use the connection of transaction, which
+ * is only given back when the transaction ends. Whether the lease owns its
+ * connection is decided when the lease is taken, so it doesn't matter which
+ * thread closes the lease, or whether the transaction already ended.
+ * </p>
+ */
+class JdbcLease implements AutoCloseable {
+	private JdbcDatabase database;
+	private Connection sql;
+	private JdbcStatementCache cache;
+	private JdbcTransaction transaction;
+	private AutoCloseable holder = null;
+	private boolean closed = false;
+
+	/**
+	 * @param transaction The transaction that owns the connection, or
+	 *                    {@code null} if the connection was borrowed from
+	 *                    connection source for this lease.
+	 */
+	public JdbcLease(JdbcDatabase database, Connection sql, JdbcStatementCache cache, JdbcTransaction transaction) {
+		this.database = database;
+		this.sql = sql;
+		this.cache = cache;
+		this.transaction = transaction;
+	}
+
+	public Connection connection() {
+		return sql;
+	}
+
+	/**
+	 * <p>
+	 * Keep this lease open until the holder is closed, like a query result that
+	 * is still reading rows. If the connection belongs to a transaction, the
+	 * holder will be closed when the transaction ends.
+	 * </p>
+	 */
+	public void holdBy(AutoCloseable holder) {
+		this.holder = holder;
+		if (transaction != null) transaction.hold(holder);
+	}
+
+	public PreparedStatement prepare(String code) throws SQLException {
+		if (cache != null) return cache.acquire(code);
+		return sql.prepareStatement(code, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+	}
+
+	public void release(String code, PreparedStatement s) throws SQLException {
+		if (cache != null) cache.release(code, s);
+		else s.close();
+	}
+
+	public void discard(PreparedStatement s) {
+		try {
+			s.close();
+		} catch (SQLException e) {
+			// Statement is no longer used anyway
+		}
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if (closed) return;
+		closed = true;
+		if (transaction == null) database.release(sql);
+		else if (holder != null) transaction.unhold(holder);
+	}
+}
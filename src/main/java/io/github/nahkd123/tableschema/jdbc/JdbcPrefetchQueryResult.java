@@ -0,0 +1,118 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import io.github.nahkd123.tableschema.query.QueryResult;
+
+/**
+ * <p>
+ * Query result that reads and decodes rows of another query result on a
+ * virtual thread, keeping up to {@code prefetch} rows ahead of the consumer.
+ * </p>
+ * <p>
+ * The source result is only used by the producer thread while it is reading,
+ * and it is closed by the thread that closes this result once the producer
+ * stopped. Queries inside a transaction or on a database backed by a single
+ * connection are never prefetched, since the caller keeps using the same
+ * connection.
+ * </p>
+ * <p>
+ * Closing this result cancels the statement if the producer is still reading,
+ * so it doesn't have to wait for the driver to fetch rows that will never be
+ * used.
+ * </p>
+ */
+class JdbcPrefetchQueryResult<T> implements QueryResult<T> {
+	private static final Object END = new Object();
+
+	private QueryResult<T> source;
+	private BlockingQueue<Object> queue;
+	private Thread producer;
+	private volatile boolean closed = false;
+	private boolean ended = false;
+
+	public JdbcPrefetchQueryResult(QueryResult<T> source, int prefetch) {
+		this.source = source;
+		this.queue = new ArrayBlockingQueue<>(prefetch);
+		this.producer = Thread.ofVirtual().name("tableschema-prefetch").start(this::produce);
+	}
+
+	private void produce() {
+		try {
+			T row;
+
+			do {
+				row = source.nextRow();
+				queue.put(row != null ? row : END);
+			} while (row != null && !closed);
+		} catch (InterruptedException e) {
+			// Only happens if someone else interrupted the producer, treat it as failure
+			offerLast(new Failure(new RuntimeException("Interrupted while prefetching rows", e)));
+		} catch (Throwable e) {
+			// Consumer must be woken up no matter how the producer died
+			offerLast(new Failure(e));
+		}
+	}
+
+	private void offerLast(Failure failure) {
+		try {
+			if (!closed) queue.put(failure);
+		} catch (InterruptedException e) {
+			// Consumer will not wait for this failure anymore
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T nextRow() {
+		if (closed || ended) return null;
+		Object next;
+
+		try {
+			next = queue.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while waiting for next row", e);
+		}
+
+		if (next == END) {
+			ended = true;
+			return null;
+		}
+
+		if (next instanceof Failure(Throwable error)) {
+			ended = true;
+			throw new RuntimeException("Error while prefetching rows", error);
+		}
+
+		return (T) next;
+	}
+
+	@Override
+	public void close() {
+		if (closed) return;
+		closed = true;
+
+		// Make room for the producer, which stops after its next row or when the statement is cancelled
+		queue.clear();
+		if (producer.isAlive() && source instanceof JdbcQueryResult<T> jdbc) jdbc.cancel();
+		boolean interrupted = false;
+
+		while (true) {
+			try {
+				producer.join();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+
+		queue.clear();
+		if (interrupted) Thread.currentThread().interrupt();
+		source.close();
+	}
+
+	private record Failure(Throwable error) {
+	}
+}
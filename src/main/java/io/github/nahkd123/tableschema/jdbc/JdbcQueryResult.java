@@ -2,35 +2,253 @@ package io.github.nahkd123.tableschema.jdbc;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import io.github.nahkd123.tableschema.jdbc.schema.JdbcSchema;
 import io.github.nahkd123.tableschema.query.QueryResult;
-import io.github.nahkd123.tableschema.schema.Schema;
 
-record JdbcQueryResult<T>(JdbcSchema<?, T> schema, Statement statement, ResultSet set) implements QueryResult<T> {
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+class JdbcQueryResult<T> implements QueryResult<T> {
+	// Same batch sizes as Spliterators.spliteratorUnknownSize()
+	private static final int BATCH_UNIT = 1 << 10;
+	private static final int MAX_BATCH = 1 << 25;
+
+	private ResultSet set;
+	private RowReader<T> reader;
+	private Cleanup cleanup;
+	private boolean closed = false;
+
+	public JdbcQueryResult(ResultSet set, RowReader<T> reader, Cleanup cleanup) {
+		this.set = set;
+		this.reader = reader;
+		this.cleanup = cleanup;
+	}
+
 	@Override
 	public T nextRow() {
 		try {
-			if (!set.next()) return null;
-			Object key = schema.primaryKey().type().getFrom(set, 1);
-			Object[] fields = new Object[schema.fields().size()];
-			for (int i = 0; i < fields.length; i++) fields[i] = schema.fields().get(i).type().getFrom(set, i + 2);
-			return (T) ((Schema.Factory) schema.factory()).create(key, List.of(fields));
+			while (!closed && set.next()) {
+				T row = reader.read(set);
+				if (row != null) return row;
+			}
+
+			return null;
 		} catch (SQLException e) {
 			throw new RuntimeException("Error while advancing query result pointer", e);
 		}
 	}
 
+	/**
+	 * <p>
+	 * Cancel the statement of this result from another thread, so the thread that
+	 * is reading rows stops waiting for the driver.
+	 * </p>
+	 */
+	void cancel() {
+		try {
+			set.getStatement().cancel();
+		} catch (SQLException e) {
+			// Not all drivers can cancel statements, the reading thread stops after its next row anyway
+		}
+	}
+
+	/**
+	 * <p>
+	 * Stream rows of this result. If rows can be decoded separately from reading
+	 * the result set, parallel streams read raw column values in batches, then
+	 * decode each batch on other threads. Raw rows are read by one task at a
+	 * time, which may run on any thread.
+	 * </p>
+	 * <p>
+	 * This result is closed automatically when the stream reads past the last
+	 * row, on whichever thread that happens.
+	 * </p>
+	 */
+	@Override
+	public Stream<T> stream() {
+		if (!(reader instanceof SplitRowReader<T> splitReader)) return QueryResult.super.stream();
+		return StreamSupport.stream(new BatchSpliterator(splitReader), false).onClose(this::close);
+	}
+
 	@Override
 	public void close() {
+		if (closed) return;
+		closed = true;
+
+		Exception error = null;
+
 		try {
-			statement.close();
 			set.close();
-		} catch (SQLException e) {
-			throw new RuntimeException("Error while closing query result", e);
+		} catch (SQLException | RuntimeException e) {
+			error = e;
+		} finally {
+			// Statement and connection must be given back even if result set failed to close
+			try {
+				cleanup.run();
+			} catch (SQLException | RuntimeException e) {
+				if (error == null) error = e;
+				else error.addSuppressed(e);
+			}
+		}
+
+		if (error instanceof RuntimeException e) throw e;
+		if (error != null) throw new RuntimeException("Error while closing query result", error);
+	}
+
+	/**
+	 * <p>
+	 * Decode the current row of result set. Rows that are decoded to {@code null}
+	 * are skipped.
+	 * </p>
+	 */
+	@FunctionalInterface
+	static interface RowReader<T> {
+		T read(ResultSet set) throws SQLException;
+	}
+
+	/**
+	 * <p>
+	 * Row reader that can read raw column values of the current row, which can
+	 * then be decoded on any thread.
+	 * </p>
+	 */
+	static interface SplitRowReader<T> extends RowReader<T> {
+		Object[] readRaw(ResultSet set) throws SQLException;
+
+		T decode(Object[] raw) throws SQLException;
+	}
+
+	/**
+	 * <p>
+	 * Spliterator that reads rows from result set. Splitting reads a batch of raw
+	 * rows, to be decoded by the split spliterator.
+	 * </p>
+	 */
+	private class BatchSpliterator implements Spliterator<T> {
+		private SplitRowReader<T> splitReader;
+		private boolean exhausted = false;
+		private int batch = 0;
+
+		public BatchSpliterator(SplitRowReader<T> splitReader) {
+			this.splitReader = splitReader;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			T row = exhausted ? null : nextRow();
+
+			if (row == null) {
+				exhausted = true;
+				close();
+				return false;
+			}
+
+			action.accept(row);
+			return true;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			if (exhausted || closed) return null;
+			batch = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+			Object[][] raws = new Object[batch][];
+			int count = 0;
+
+			try {
+				while (count < batch) {
+					if (!set.next()) {
+						exhausted = true;
+						break;
+					}
+
+					raws[count++] = splitReader.readRaw(set);
+				}
+			} catch (SQLException e) {
+				throw new RuntimeException("Error while advancing query result pointer", e);
+			}
+
+			return count > 0 ? new DecodeSpliterator<>(splitReader, raws, 0, count) : null;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Spliterator that decodes a batch of raw rows.
+	 * </p>
+	 */
+	private static class DecodeSpliterator<T> implements Spliterator<T> {
+		private SplitRowReader<T> splitReader;
+		private Object[][] raws;
+		private int index, end;
+
+		public DecodeSpliterator(SplitRowReader<T> splitReader, Object[][] raws, int index, int end) {
+			this.splitReader = splitReader;
+			this.raws = raws;
+			this.index = index;
+			this.end = end;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			while (index < end) {
+				Object[] raw = raws[index];
+				raws[index++] = null;
+				T row;
+
+				try {
+					row = splitReader.decode(raw);
+				} catch (SQLException e) {
+					throw new RuntimeException("Error while decoding query result row", e);
+				}
+
+				if (row != null) {
+					action.accept(row);
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			int middle = (index + end) >>> 1;
+			if (middle <= index) return null;
+			Spliterator<T> prefix = new DecodeSpliterator<>(splitReader, raws, index, middle);
+			index = middle;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return end - index;
 		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL;
+		}
+	}
+
+	/**
+	 * <p>
+	 * Action to run after the result set is closed, like giving the statement back
+	 * to statement cache.
+	 * </p>
+	 */
+	@FunctionalInterface
+	static interface Cleanup {
+		void run() throws SQLException;
 	}
 }
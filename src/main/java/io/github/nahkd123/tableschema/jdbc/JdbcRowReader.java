@@ -0,0 +1,86 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.nahkd123.tableschema.jdbc.schema.JdbcSchema;
+import io.github.nahkd123.tableschema.jdbc.schema.type.JdbcFieldType;
+import io.github.nahkd123.tableschema.schema.Schema;
+
+/**
+ * <p>
+ * Decoder for rows selected with {@link JdbcSchema#columnNamesCode(String)}.
+ * Column types are resolved once for each table, and each query result reuses
+ * a single buffer for field values, so decoding a row only allocates the row
+ * object and its field values.
+ * </p>
+ * <p>
+ * Rows can also be read as raw column values and decoded later, which lets
+ * parallel streams decode rows on multiple threads.
+ * </p>
+ *
+ * @param <K> Type of primary key.
+ * @param <R> Type of table row.
+ */
+class JdbcRowReader<K, R> {
+	private JdbcFieldType<K> key;
+	private JdbcFieldType<?>[] fields;
+	private Schema.Factory<K, R> factory;
+
+	@SuppressWarnings("unchecked")
+	public JdbcRowReader(JdbcSchema<K, R> schema) {
+		this.key = (JdbcFieldType<K>) schema.primaryKey().type();
+		this.fields = schema.fields().stream().map(f -> f.type()).toArray(JdbcFieldType<?>[]::new);
+		this.factory = schema.factory();
+	}
+
+	/**
+	 * <p>
+	 * Create a new reader for a single query result. The reader is not
+	 * thread-safe, just like the result set it is reading from.
+	 * </p>
+	 *
+	 * @return A new row reader.
+	 */
+	public JdbcQueryResult.SplitRowReader<R> newReader() {
+		Object[] buffer = new Object[fields.length];
+		List<Object> view = Arrays.asList(buffer);
+
+		return new JdbcQueryResult.SplitRowReader<>() {
+			@Override
+			public R read(ResultSet set) throws SQLException {
+				try {
+					return JdbcRowReader.this.read(set, buffer, view);
+				} finally {
+					// Don't keep field values of previous row alive
+					Arrays.fill(buffer, null);
+				}
+			}
+
+			@Override
+			public Object[] readRaw(ResultSet set) throws SQLException {
+				Object[] raw = new Object[fields.length + 1];
+				for (int i = 0; i < raw.length; i++) raw[i] = (i == 0 ? key : fields[i - 1]).getRawFrom(set, i + 1);
+				return raw;
+			}
+
+			@Override
+			public R decode(Object[] raw) throws SQLException {
+				K key = JdbcRowReader.this.key.fromRaw(raw[0]);
+				Object[] values = new Object[fields.length];
+				for (int i = 0; i < fields.length; i++) values[i] = fields[i].fromRaw(raw[i + 1]);
+				if (factory instanceof Schema.ArrayFactory<K, R> arrayFactory) return arrayFactory.create(key, values);
+				return factory.create(key, Arrays.asList(values));
+			}
+		};
+	}
+
+	private R read(ResultSet set, Object[] buffer, List<Object> view) throws SQLException {
+		K key = this.key.getFrom(set, 1);
+		for (int i = 0; i < fields.length; i++) buffer[i] = fields[i].getFrom(set, i + 2);
+		if (factory instanceof Schema.ArrayFactory<K, R> arrayFactory) return arrayFactory.create(key, buffer);
+		return factory.create(key, view);
+	}
+}
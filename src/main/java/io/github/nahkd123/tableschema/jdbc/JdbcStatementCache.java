@@ -0,0 +1,169 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * A bounded cache of prepared statements for a single connection. Least
+ * recently used statements are closed when the cache is full. Statements are
+ * removed from the cache while they are being used, so a statement is never
+ * shared between two open query results.
+ * </p>
+ * <p>
+ * This class is not thread-safe, just like the connection it is caching
+ * statements for. Only the counters and size can be read from other threads.
+ * </p>
+ *
+ * @see JdbcDatabase#statementCacheStats()
+ */
+public class JdbcStatementCache implements AutoCloseable {
+	private Connection sql;
+	private int capacity;
+	private Map<String, PreparedStatement> statements;
+	private LongAdder hits = new LongAdder(), misses = new LongAdder(), evictions = new LongAdder();
+	private volatile int size = 0;
+
+	public JdbcStatementCache(Connection sql, int capacity) {
+		this.sql = sql;
+		this.capacity = capacity;
+		this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+				if (size() <= JdbcStatementCache.this.capacity) return false;
+				evictions.increment();
+				closeQuietly(eldest.getValue());
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * <p>
+	 * Take a prepared statement out of the cache, or prepare a new one if the
+	 * statement is not cached. The statement must be given back with
+	 * {@link #release(String, PreparedStatement)} once it is no longer used.
+	 * </p>
+	 *
+	 * @param code The SQL code.
+	 * @return The prepared statement.
+	 */
+	PreparedStatement acquire(String code) throws SQLException {
+		PreparedStatement s = statements.remove(code);
+		size = statements.size();
+
+		if (s != null && !s.isClosed()) {
+			hits.increment();
+			return s;
+		}
+
+		misses.increment();
+		return sql.prepareStatement(code, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+	}
+
+	/**
+	 * <p>
+	 * Give the statement back to the cache.
+	 * </p>
+	 *
+	 * @param code The SQL code that was used to acquire the statement.
+	 * @param s    The prepared statement.
+	 */
+	void release(String code, PreparedStatement s) throws SQLException {
+		if (capacity == 0 || s.isClosed()) {
+			s.close();
+			return;
+		}
+
+		s.clearParameters();
+		PreparedStatement previous = statements.put(code, s);
+		size = statements.size();
+		if (previous != null && previous != s) previous.close();
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * <p>
+	 * Get the number of times a cached statement was reused.
+	 * </p>
+	 */
+	public long hits() {
+		return hits.sum();
+	}
+
+	/**
+	 * <p>
+	 * Get the number of times a statement had to be prepared.
+	 * </p>
+	 */
+	public long misses() {
+		return misses.sum();
+	}
+
+	/**
+	 * <p>
+	 * Get the number of statements closed to make room for new statements.
+	 * </p>
+	 */
+	public long evictions() {
+		return evictions.sum();
+	}
+
+	public Stats stats() {
+		return new Stats(hits(), misses(), evictions(), size);
+	}
+
+	@Override
+	public void close() {
+		for (PreparedStatement s : statements.values()) closeQuietly(s);
+		statements.clear();
+		size = 0;
+	}
+
+	private static void closeQuietly(PreparedStatement s) {
+		try {
+			s.close();
+		} catch (SQLException e) {
+			// Statement is no longer used anyway
+		}
+	}
+
+	/**
+	 * <p>
+	 * Snapshot of statement cache counters.
+	 * </p>
+	 *
+	 * @param hits      Number of times a cached statement was reused.
+	 * @param misses    Number of times a statement had to be prepared.
+	 * @param evictions Number of statements closed to make room for new
+	 *                  statements.
+	 * @param size      Number of statements currently in cache.
+	 */
+	public record Stats(long hits, long misses, long evictions, int size) {
+		public static final Stats EMPTY = new Stats(0, 0, 0, 0);
+
+		public Stats plus(Stats another) {
+			return new Stats(hits + another.hits, misses + another.misses, evictions + another.evictions,
+				size + another.size);
+		}
+
+		public double hitRatio() {
+			long total = hits + misses;
+			return total == 0 ? 0d : (double) hits / total;
+		}
+	}
+}
@@ -2,38 +2,78 @@ package io.github.nahkd123.tableschema.jdbc;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.jdbc.schema.JdbcField;
 import io.github.nahkd123.tableschema.jdbc.schema.JdbcIndex;
 import io.github.nahkd123.tableschema.jdbc.schema.JdbcSchema;
 import io.github.nahkd123.tableschema.jdbc.schema.type.JdbcFieldType;
+import io.github.nahkd123.tableschema.query.Assignment;
 import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.PreparedQuery;
+import io.github.nahkd123.tableschema.query.QueryOptions;
 import io.github.nahkd123.tableschema.query.QueryResult;
 import io.github.nahkd123.tableschema.query.SortBy;
 import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
 
 class JdbcTable<K, R> implements Table<K, R> {
-	private Connection sql;
+	private JdbcDatabase database;
 	private Field<R, K> primaryKey;
 	private String table, activeTable;
 	private JdbcSchema<K, R> schema;
-
-	public JdbcTable(Connection sql, String table, Field<R, K> primaryKey, JdbcSchema<K, R> schema) {
-		this.sql = sql;
+	private String insertCode, updateCode, selectCode, deleteCode;
+	private volatile String upsertCode = null;
+	private volatile boolean upsertUnknown = false;
+	private JdbcRowReader<K, R> rowReader;
+	private Map<Object, Plan> plans;
+	private AtomicLong version;
+
+	public JdbcTable(JdbcDatabase database, String table, Field<R, K> primaryKey, JdbcSchema<K, R> schema) {
+		this.database = database;
 		this.table = table;
 		this.primaryKey = primaryKey;
 		this.schema = schema;
 		this.activeTable = schema.version() == -1 ? table : "%s:v%d".formatted(table, schema.version());
+
+		// Static SQL code never changes for the lifetime of this table
+		this.insertCode = schema.parameterizedInsertCode(activeTable);
+		this.updateCode = schema.parameterizedUpdateCode(activeTable);
+		this.selectCode = "SELECT %s FROM \"%s\"".formatted(schema.columnNamesCode(null), activeTable);
+		this.deleteCode = "DELETE FROM \"%s\"".formatted(activeTable);
+		this.rowReader = new JdbcRowReader<>(schema);
+		this.version = database.version(table);
+
+		int maxPlans = database.options().statementCacheSize();
+		this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Plan> eldest) {
+				return size() > maxPlans;
+			}
+		};
 	}
 
 	@Override
 	public Table.MigrationReport migrate(boolean backup) {
-		try {
+		try (JdbcLease lease = database.lease()) {
+			Connection sql = lease.connection();
 			String migrateFrom = null;
 			int fromVersion = -1;
 
@@ -80,15 +120,22 @@ class JdbcTable<K, R> implements Table<K, R> {
 				String destination = migrateFrom.equals(activeTable)
 					? "migrate:%s".formatted(activeTable)
 					: activeTable;
-				Set<String> existingColumns = new HashSet<>();
+				Map<String, String> existingColumns = new HashMap<>();
 
 				try (var set = sql.getMetaData().getColumns(null, null, migrateFrom, null)) {
-					while (set.next()) existingColumns.add(set.getString("COLUMN_NAME"));
+					while (set.next()) existingColumns.put(set.getString("COLUMN_NAME"), set.getString("TYPE_NAME"));
 				}
 
+				// Copying rows may fail halfway, which must not leave a half-copied table behind
+				boolean autoCommit = sql.getAutoCommit(), copied = false;
+				if (autoCommit) sql.setAutoCommit(false);
+
 				try (var s = sql.createStatement()) {
 					s.execute(schema.createTableCode(destination));
-					s.execute(schema.migrateCode(migrateFrom, destination, existingColumns));
+					if (schema.canMigrateInSql(migrateFrom, existingColumns))
+						s.execute(schema.migrateCode(migrateFrom, destination, existingColumns));
+					else copyRows(sql, migrateFrom, destination, existingColumns);
+					copied = true;
 
 					if (backup) {
 						String backupName = "%s:backup:%s".formatted(migrateFrom, LocalDateTime.now());
@@ -99,6 +146,14 @@ class JdbcTable<K, R> implements Table<K, R> {
 
 					if (!destination.equals(activeTable))
 						s.execute("ALTER TABLE \"%s\" RENAME TO \"%s\"".formatted(destination, activeTable));
+					if (autoCommit) sql.commit();
+				} catch (SQLException | RuntimeException e) {
+					if (autoCommit) rollbackQuietly(sql, e);
+					// Some databases can't roll back DDL, so the destination table is dropped by hand
+					if (!copied) dropQuietly(sql, destination, e);
+					throw e;
+				} finally {
+					if (autoCommit) sql.setAutoCommit(true);
 				}
 			}
 
@@ -109,18 +164,94 @@ class JdbcTable<K, R> implements Table<K, R> {
 			return new MigrationReport(backup ? migrateFrom : null, fromVersion, schema.version());
 		} catch (SQLException e) {
 			throw new RuntimeException("Error while migrating table", e);
+		} finally {
+			changed();
+		}
+	}
+
+	private static void rollbackQuietly(Connection sql, Exception cause) {
+		try {
+			sql.rollback();
+		} catch (SQLException e) {
+			cause.addSuppressed(e);
+		}
+	}
+
+	private static void dropQuietly(Connection sql, String table, Exception cause) {
+		try (var s = sql.createStatement()) {
+			s.execute("DROP TABLE IF EXISTS \"%s\"".formatted(table));
+		} catch (SQLException e) {
+			cause.addSuppressed(e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Copy rows from existing table to new table through Java, for columns that
+	 * can't be converted with SQL.
+	 * </p>
+	 */
+	private void copyRows(Connection sql, String from, String to, Map<String, String> existingColumns) throws SQLException {
+		List<JdbcField<R, ?>> columns = schema.migratedColumns(existingColumns);
+		String[] fromSqlTypes = new String[columns.size()];
+		boolean[] converted = new boolean[columns.size()];
+
+		for (int i = 0; i < columns.size(); i++) {
+			JdbcField<R, ?> column = columns.get(i);
+			fromSqlTypes[i] = existingColumns.get(column.label());
+			converted[i] = column.type().convertCode("\"%s\".\"%s\"".formatted(from, column.label()), fromSqlTypes[i]) != null;
+		}
+
+		try (var select = sql.createStatement();
+			var set = select.executeQuery(schema.migrateSelectCode(from, existingColumns));
+			var insert = sql.prepareStatement(schema.migrateInsertCode(to, existingColumns))) {
+			int pending = 0;
+
+			while (set.next()) {
+				for (int i = 0; i < columns.size(); i++) {
+					// Columns that were converted by SELECT are copied as-is
+					if (converted[i]) JdbcFieldType.copy(insert, i + 1, set, i + 1);
+					else columns.get(i).type().convertTo(insert, i + 1, set, i + 1, fromSqlTypes[i]);
+				}
+
+				insert.addBatch();
+				if (++pending < database.options().batchSize()) continue;
+				insert.executeBatch();
+				pending = 0;
+			}
+
+			if (pending > 0) insert.executeBatch();
 		}
 	}
 
 	@Override
 	public void drop() {
-		try (var s = sql.createStatement()) {
+		try (JdbcLease lease = database.lease(); var s = lease.connection().createStatement()) {
 			s.execute("DROP TABLE \"%s\"".formatted(activeTable));
 		} catch (SQLException e) {
 			throw new RuntimeException("Error while dropping table", e);
+		} finally {
+			changed();
 		}
 	}
 
+	@Override
+	public long version() {
+		JdbcTransaction active = database.currentTransaction();
+		return active != null && active.hasChanged(version) ? -1L : version.get();
+	}
+
+	/**
+	 * <p>
+	 * Bump the write version after rows in this table might have been changed.
+	 * </p>
+	 */
+	private void changed() {
+		version.incrementAndGet();
+		JdbcTransaction active = database.currentTransaction();
+		if (active != null) active.changed(version);
+	}
+
 	@Override
 	public Field<R, K> primaryKey() {
 		return primaryKey;
@@ -128,80 +259,553 @@ class JdbcTable<K, R> implements Table<K, R> {
 
 	@Override
 	public int insert(Collection<R> values) {
-		try (var s = sql.prepareStatement(schema.parameterizedInsertCode(activeTable))) {
-			int count = 0;
+		try {
+			return countUpdates(executeBatched(insertCode, values,
+				(s, value) -> schema.setTo(s, 1, value)));
+		} catch (SQLException e) {
+			throw new RuntimeException("Error while inserting to table", e);
+		} finally {
+			changed();
+		}
+	}
 
-			for (R value : values) {
-				schema.setTo(s, 1, value);
-				count += s.executeUpdate();
-			}
+	@Override
+	public int upsert(Collection<R> values) {
+		String upsertCode = upsertCode();
+		if (upsertCode == null) return updateThenInsert(values);
 
-			return count;
+		try {
+			// Some databases report 2 changed rows for each updated row
+			return countStatements(executeBatched(upsertCode, values,
+				(s, value) -> schema.setTo(s, 1, value)));
 		} catch (SQLException e) {
-			throw new RuntimeException("Error while inserting to table", e);
+			throw new RuntimeException("Error while upserting to table", e);
+		} finally {
+			changed();
 		}
 	}
 
+	/**
+	 * <p>
+	 * Get upsert statement in SQL dialect of database. Dialect may have to be
+	 * detected from connection, so the statement is generated on first use.
+	 * </p>
+	 * 
+	 * @return The upsert statement, or {@code null} if the dialect is not known.
+	 */
+	private String upsertCode() {
+		String code = upsertCode;
+		if (code != null || upsertUnknown) return code;
+		JdbcDialect dialect;
+
+		try {
+			dialect = database.dialect();
+		} catch (SQLException e) {
+			throw new RuntimeException("Error while detecting database dialect", e);
+		}
+
+		if (dialect == null) {
+			upsertUnknown = true;
+			return null;
+		}
+
+		return upsertCode = schema.parameterizedUpsertCode(activeTable, dialect);
+	}
+
+	/**
+	 * <p>
+	 * Upsert rows without dialect specific statement, by updating all rows in
+	 * batches, then inserting rows that were not updated.
+	 * </p>
+	 */
+	private int updateThenInsert(Collection<R> values) {
+		List<R> list = List.copyOf(values);
+
+		// All or nothing, just like upserting in a single statement
+		return database.inTransaction(() -> {
+			boolean[] updated = updateEach(list);
+			List<R> missing = new ArrayList<>();
+			for (int i = 0; i < updated.length; i++) if (!updated[i]) missing.add(list.get(i));
+			return list.size() - missing.size() + (missing.isEmpty() ? 0 : insert(missing));
+		});
+	}
+
 	@Override
 	public QueryResult<R> query(Filter<R> filter, SortBy<R> ordering) {
-		JdbcFilter jdbcFilter = filter != null ? JdbcFilter.map(activeTable, filter, true) : null;
-		String sql = "SELECT %s FROM \"%s\"".formatted(schema.columnNamesCode(null), activeTable);
-		if (jdbcFilter != null) sql += " WHERE %s".formatted(jdbcFilter.sql());
-		if (ordering != null)
-			sql += " ORDER BY \"%s\" %s".formatted(ordering.field().label(), switch (ordering.order()) {
-			case ASCENDING -> "ASC";
-			case DESCENDING -> "DESC";
-			});
+		return query(filter, ordering, QueryOptions.DEFAULT);
+	}
 
-		try {
-			PreparedStatement s = this.sql.prepareStatement(sql);
-			if (jdbcFilter != null) jdbcFilter.fillParameters(new JdbcFilter.Filler() {
-				@Override
-				public <T> void fill(int index, JdbcFieldType<T> valueType, T value) throws SQLException {
-					valueType.setTo(s, index + 1, value);
+	@Override
+	public QueryResult<R> query(Filter<R> filter, SortBy<R> ordering, QueryOptions options) {
+		Plan plan = plan(new QueryShape(shapeOf(filter), ordering, options.paged()),
+			filter, where -> selectCode + where + orderByCode(ordering) + (options.paged() ? " LIMIT ? OFFSET ?" : ""));
+		return executeQuery(plan, options, rowReader.newReader(), s -> {
+			plan.fillParameters(s, filter);
+
+			if (options.paged()) {
+				int index = plan.parameters().size() + 1;
+				s.setLong(index, options.limit() > 0 ? options.limit() : Long.MAX_VALUE);
+				s.setLong(index + 1, options.offset());
+			}
+		});
+	}
+
+	@Override
+	public QueryResult<R> query(Collection<K> keys) {
+		List<List<K>> chunks = chunked(keys);
+		return new JdbcChainedQueryResult<>(chunks.stream()
+			.<Supplier<QueryResult<R>>>map(chunk -> () -> query(Filter.in(primaryKey, chunk), null))
+			.iterator());
+	}
+
+	private List<List<K>> chunked(Collection<K> keys) {
+		List<K> list = List.copyOf(keys);
+		int chunkSize = database.options().maxParameters();
+		List<List<K>> chunks = new ArrayList<>();
+		for (int i = 0; i < list.size(); i += chunkSize)
+			chunks.add(list.subList(i, Math.min(i + chunkSize, list.size())));
+		return chunks;
+	}
+
+	@Override
+	public PreparedQuery<R> prepare(Filter<R> template, SortBy<R> ordering) {
+		// Values are bound to slots one by one, so IN lists must not be padded
+		Plan plan = plan(new PreparedShape(template != null ? JdbcFilter.shapeOf(template, 0) : null, ordering), template, 0,
+			where -> selectCode + where + orderByCode(ordering));
+		List<PreparedQuery.Slot<R, ?>> slots = PreparedQuery.slotsOf(template);
+
+		return new PreparedQuery<R>() {
+			@Override
+			public List<Slot<R, ?>> slots() {
+				return slots;
+			}
+
+			@Override
+			public QueryResult<R> execute(Object[] values) {
+				PreparedQuery.checkValues(slots, values);
+				return executeQuery(plan, QueryOptions.DEFAULT, rowReader.newReader(), s -> plan.fillParameters(s, values));
+			}
+		};
+	}
+
+	@Override
+	public QueryResult<K> queryKeys(Filter<R> filter) {
+		return queryField(primaryKey, filter);
+	}
+
+	@Override
+	public <T> QueryResult<T> queryField(Field<R, T> field, Filter<R> filter) {
+		JdbcField<R, T> column = columnOf(field);
+		// Null values would be taken as the end of result, so they are not selected at all
+		Filter<R> notNull = column == schema.primaryKey() ? null : Filter.not(Filter.isNull(field));
+		Filter<R> selected = filter == null ? notNull : notNull == null ? filter : filter.and(notNull);
+		Plan plan = plan(new ProjectionShape(column.label(), shapeOf(selected)),
+			selected, where -> "SELECT \"%s\" FROM \"%s\"%s".formatted(column.label(), activeTable, where));
+		return executeQuery(plan, QueryOptions.DEFAULT, set -> column.type().getFrom(set, 1),
+			s -> plan.fillParameters(s, selected));
+	}
+
+	@Override
+	public long count(Filter<R> filter) {
+		return aggregate("COUNT(*)", new AggregateShape("COUNT", null, shapeOf(filter)), filter,
+			set -> set.getLong(1));
+	}
+
+	@Override
+	public boolean exists(Filter<R> filter) {
+		Plan plan = plan(new AggregateShape("EXISTS", null, shapeOf(filter)), filter,
+			where -> "SELECT 1 FROM \"%s\"%s LIMIT 1".formatted(activeTable, where));
+		return executeQuery(plan, QueryOptions.DEFAULT, set -> true, s -> plan.fillParameters(s, filter)).first() != null;
+	}
+
+	@Override
+	public <T extends Comparable<? super T>> T min(Field<R, T> field, Filter<R> filter) {
+		JdbcField<R, T> column = columnOf(field);
+		return aggregate("MIN(\"%s\")".formatted(column.label()), new AggregateShape("MIN", column.label(), shapeOf(filter)),
+			filter, set -> column.type().getFrom(set, 1));
+	}
+
+	@Override
+	public <T extends Comparable<? super T>> T max(Field<R, T> field, Filter<R> filter) {
+		JdbcField<R, T> column = columnOf(field);
+		return aggregate("MAX(\"%s\")".formatted(column.label()), new AggregateShape("MAX", column.label(), shapeOf(filter)),
+			filter, set -> column.type().getFrom(set, 1));
+	}
+
+	@Override
+	public Number sum(Field<R, ? extends Number> field, Filter<R> filter) {
+		JdbcField<R, ?> column = columnOf(field);
+		boolean floating = FieldType.FLOAT.equals(field.type().root()) || FieldType.DOUBLE.equals(field.type().root());
+		// SUM() of no rows is NULL, which getDouble() and getLong() read as 0
+		return aggregate("SUM(\"%s\")".formatted(column.label()), new AggregateShape("SUM", column.label(), shapeOf(filter)),
+			filter, set -> floating ? (Number) set.getDouble(1) : (Number) set.getLong(1));
+	}
+
+	@Override
+	public <T> Map<T, Long> groupBy(Field<R, T> field, Filter<R> filter) {
+		JdbcField<R, T> column = columnOf(field);
+		Plan plan = plan(new AggregateShape("GROUP", column.label(), shapeOf(filter)), filter,
+			where -> "SELECT \"%s\", COUNT(*) FROM \"%s\"%s GROUP BY \"%s\"".formatted(
+				column.label(), activeTable, where, column.label()));
+		Map<T, Long> counts = new HashMap<>();
+
+		try (JdbcLease lease = database.lease()) {
+			PreparedStatement s = lease.prepare(plan.sql());
+
+			try {
+				plan.fillParameters(s, filter);
+
+				try (ResultSet set = s.executeQuery()) {
+					while (set.next()) counts.put(column.type().getFrom(set, 1), set.getLong(2));
 				}
-			});
+			} catch (SQLException e) {
+				lease.discard(s);
+				throw e;
+			}
 
-			return new JdbcQueryResult<>(schema, s, s.executeQuery());
+			lease.release(plan.sql(), s);
 		} catch (SQLException e) {
-			throw new RuntimeException("Error while querying table", e);
+			throw new RuntimeException("Error while grouping rows in table", e);
 		}
+
+		return Collections.unmodifiableMap(counts);
+	}
+
+	private <T> T aggregate(String expression, AggregateShape key, Filter<R> filter, JdbcQueryResult.RowReader<T> reader) {
+		Plan plan = plan(key, filter, where -> "SELECT %s FROM \"%s\"%s".formatted(expression, activeTable, where));
+		return executeQuery(plan, QueryOptions.DEFAULT, reader, s -> plan.fillParameters(s, filter)).first();
+	}
+
+	private Object shapeOf(Filter<?> filter) {
+		return filter != null ? JdbcFilter.shapeOf(filter, database.options().maxParameters()) : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> JdbcField<R, T> columnOf(Field<R, T> field) {
+		if (field.label().equals(schema.primaryKey().label())) return (JdbcField<R, T>) schema.primaryKey();
+		for (JdbcField<R, ?> column : schema.fields())
+			if (column.label().equals(field.label())) return (JdbcField<R, T>) column;
+		throw new IllegalArgumentException("Field '%s' is not in table schema".formatted(field.label()));
+	}
+
+	private <T> QueryResult<T> executeQuery(Plan plan, QueryOptions options, JdbcQueryResult.RowReader<T> reader, Parameters parameters) {
+		JdbcLease lease = null;
+
+		try {
+			lease = database.lease();
+			PreparedStatement s = lease.prepare(plan.sql());
+
+			try {
+				// Cached statements may still have options from previous query
+				s.setFetchSize(options.fetchSize());
+				s.setMaxRows(options.maxRows());
+				parameters.fill(s);
+				JdbcLease owner = lease;
+				QueryResult<T> result = new JdbcQueryResult<>(s.executeQuery(), reader, () -> {
+					try {
+						owner.release(plan.sql(), s);
+					} finally {
+						owner.close();
+					}
+				});
+				lease.holdBy(result);
+
+				// Connection of transaction or single connection database is still used by the caller, so it
+				// can't be read in background
+				if (options.prefetch() > 0 && database.currentTransaction() == null && database.maxConcurrency() > 1)
+					return new JdbcPrefetchQueryResult<>(result, options.prefetch());
+				return result;
+			} catch (SQLException e) {
+				lease.discard(s);
+				throw e;
+			}
+		} catch (SQLException e) {
+			RuntimeException wrapped = new RuntimeException("Error while querying table", e);
+			if (lease != null) closeQuietly(lease, wrapped);
+			throw wrapped;
+		}
+	}
+
+	private static void closeQuietly(JdbcLease lease, Exception cause) {
+		try {
+			lease.close();
+		} catch (SQLException e) {
+			cause.addSuppressed(e);
+		}
+	}
+
+	private String orderByCode(SortBy<?> ordering) {
+		if (ordering == null) return "";
+		String direction = switch (ordering.order()) {
+		case ASCENDING -> "ASC";
+		case DESCENDING -> "DESC";
+		};
+
+		// Break ties with primary key so pages are stable
+		if (ordering.field().label().equals(primaryKey.label()))
+			return " ORDER BY \"%s\" %s".formatted(ordering.field().label(), direction);
+		return " ORDER BY \"%s\" %s, \"%s\" %s".formatted(ordering.field().label(), direction, primaryKey.label(), direction);
 	}
 
 	@Override
 	public int update(Collection<R> values) {
-		try (PreparedStatement s = sql.prepareStatement(schema.parameterizedUpdateCode(activeTable))) {
-			int count = 0;
+		try {
+			return countUpdates(executeBatched(updateCode, values, this::bindUpdate));
+		} catch (SQLException e) {
+			throw new RuntimeException("Error while updating entries in table", e);
+		} finally {
+			changed();
+		}
+	}
 
-			for (R value : values) {
-				schema.setTo(s, 1, value);
-				JdbcSchema.setToPreparedStatement(s, schema.fields().size() + 2, schema.primaryKey(), value);
-				count += s.executeUpdate();
-			}
+	@Override
+	public boolean[] updateEach(Collection<R> values) {
+		try {
+			int[] results = executeBatched(updateCode, values, this::bindUpdate);
+			boolean[] updated = new boolean[results.length];
+			for (int i = 0; i < results.length; i++)
+				updated[i] = results[i] > 0 || results[i] == Statement.SUCCESS_NO_INFO;
+			return updated;
+		} catch (SQLException e) {
+			throw new RuntimeException("Error while updating entries in table", e);
+		} finally {
+			changed();
+		}
+	}
 
-			return count;
+	private void bindUpdate(PreparedStatement s, R value) throws SQLException {
+		schema.setTo(s, 1, value);
+		JdbcSchema.setToPreparedStatement(s, schema.fields().size() + 2, schema.primaryKey(), value);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Override
+	public int update(Filter<R> filter, List<Assignment<R, ?>> assignments) {
+		if (assignments.isEmpty()) throw new IllegalArgumentException("Assignments must not be empty");
+		List<JdbcField<R, ?>> columns = assignments.stream().<JdbcField<R, ?>>map(a -> columnOf(a.field())).toList();
+		Plan plan = plan(new UpdateShape(columns.stream().map(JdbcField::label).toList(), shapeOf(filter)), filter,
+			where -> "UPDATE \"%s\" SET %s%s".formatted(activeTable, columns.stream()
+				.map(c -> "\"%s\" = ?".formatted(c.label()))
+				.collect(Collectors.joining(", ")), where));
+
+		try {
+			return executeUpdate(plan, s -> {
+				for (int i = 0; i < columns.size(); i++)
+					((JdbcFieldType) columns.get(i).type()).setTo(s, i + 1, assignments.get(i).value());
+				plan.fillParameters(s, columns.size(), filter);
+			});
 		} catch (SQLException e) {
 			throw new RuntimeException("Error while updating entries in table", e);
+		} finally {
+			changed();
 		}
 	}
 
 	@Override
 	public int delete(Filter<R> filter) {
-		JdbcFilter jdbcFilter = filter != null ? JdbcFilter.map(activeTable, filter, true) : null;
-		String sql = "DELETE FROM \"%s\"".formatted(activeTable);
-		if (jdbcFilter != null) sql += " WHERE %s".formatted(jdbcFilter.sql());
+		Plan plan = plan(new DeleteShape(shapeOf(filter)), filter,
+			where -> deleteCode + where);
+
+		try {
+			return executeUpdate(plan, s -> plan.fillParameters(s, filter));
+		} catch (SQLException e) {
+			throw new RuntimeException("Error while deleting entries in table", e);
+		} finally {
+			changed();
+		}
+	}
+
+	private int executeUpdate(Plan plan, Parameters parameters) throws SQLException {
+		try (JdbcLease lease = database.lease()) {
+			PreparedStatement s = lease.prepare(plan.sql());
+			int count;
+
+			try {
+				parameters.fill(s);
+				count = s.executeUpdate();
+			} catch (SQLException e) {
+				lease.discard(s);
+				throw e;
+			}
+
+			lease.release(plan.sql(), s);
+			return count;
+		}
+	}
+
+	@Override
+	public int delete(Collection<K> keys) {
+		List<List<K>> chunks = chunked(keys);
+		if (chunks.isEmpty()) return 0;
+		if (chunks.size() == 1) return delete(Filter.in(primaryKey, chunks.get(0)));
+
+		// All or nothing, just like deleting in a single statement
+		return database.inTransaction(() -> {
+			int count = 0;
+			for (List<K> chunk : chunks) count += delete(Filter.in(primaryKey, chunk));
+			return count;
+		});
+	}
+
+	/**
+	 * <p>
+	 * Get compiled SQL code for filter with specified shape, or compile a new one
+	 * if this table haven't seen the shape before.
+	 * </p>
+	 * 
+	 * @param key    The shape of statement, including shape of filter.
+	 * @param filter The filter. Values in filter are not used.
+	 * @param code   Derive SQL code from {@code WHERE} clause (which can be empty).
+	 * @return The compiled statement.
+	 */
+	private Plan plan(Object key, Filter<R> filter, Function<String, String> code) {
+		return plan(key, filter, database.options().maxParameters(), code);
+	}
+
+	private Plan plan(Object key, Filter<R> filter, int maxInWidth, Function<String, String> code) {
+		synchronized (plans) {
+			Plan plan = plans.get(key);
+			if (plan != null) return plan;
+		}
+
+		JdbcFilter jdbcFilter = filter != null ? JdbcFilter.map(activeTable, filter, true, maxInWidth) : null;
+		Plan plan = jdbcFilter != null
+			? new Plan(code.apply(" WHERE %s".formatted(jdbcFilter.sql())), jdbcFilter.parameterTypes(), maxInWidth)
+			: new Plan(code.apply(""), List.of(), maxInWidth);
+
+		synchronized (plans) {
+			plans.put(key, plan);
+		}
+
+		return plan;
+	}
+
+	/**
+	 * <p>
+	 * Execute parameterized statement for each value in chunks of
+	 * {@link JdbcDatabase.Options#batchSize()} rows. If the connection is in
+	 * auto-commit mode, each chunk will be committed in its own transaction.
+	 * Otherwise the chunks will join the ongoing transaction.
+	 * </p>
+	 * 
+	 * @return Update count for each value, in iteration order.
+	 */
+	private int[] executeBatched(String code, Collection<R> values, Binder<R> binder) throws SQLException {
+		int[] results = new int[values.size()];
+		int offset = 0, pending = 0;
+
+		try (JdbcLease lease = database.lease()) {
+			PreparedStatement s = lease.prepare(code);
+
+			try {
+				for (R value : values) {
+					binder.bind(s, value);
+					s.addBatch();
+
+					if (++pending == database.options().batchSize()) {
+						offset = flushBatch(lease.connection(), s, results, offset);
+						pending = 0;
+					}
+				}
+
+				if (pending > 0) flushBatch(lease.connection(), s, results, offset);
+			} catch (SQLException e) {
+				lease.discard(s);
+				throw e;
+			}
+
+			lease.release(code, s);
+		}
+
+		return results;
+	}
+
+	private int flushBatch(Connection sql, PreparedStatement s, int[] results, int offset) throws SQLException {
+		int[] chunk;
+
+		if (!sql.getAutoCommit()) {
+			chunk = s.executeBatch();
+		} else {
+			sql.setAutoCommit(false);
+
+			try {
+				chunk = s.executeBatch();
+				sql.commit();
+			} catch (SQLException e) {
+				sql.rollback();
+				throw e;
+			} finally {
+				sql.setAutoCommit(true);
+			}
+		}
+
+		System.arraycopy(chunk, 0, results, offset, chunk.length);
+		return offset + chunk.length;
+	}
+
+	private static int countStatements(int[] results) {
+		int count = 0;
+		for (int result : results) if (result > 0 || result == Statement.SUCCESS_NO_INFO) count++;
+		return count;
+	}
+
+	private static int countUpdates(int[] results) {
+		int count = 0;
+
+		for (int result : results) {
+			// Some drivers can't report exact count for each statement in batch
+			if (result == Statement.SUCCESS_NO_INFO) count++;
+			else if (result > 0) count += result;
+		}
+
+		return count;
+	}
+
+	@FunctionalInterface
+	private static interface Binder<R> {
+		void bind(PreparedStatement s, R value) throws SQLException;
+	}
+
+	@FunctionalInterface
+	private static interface Parameters {
+		void fill(PreparedStatement s) throws SQLException;
+	}
+
+	private record QueryShape(Object filter, SortBy<?> ordering, boolean paged) {
+	}
+
+	private record PreparedShape(Object filter, SortBy<?> ordering) {
+	}
+
+	private record ProjectionShape(String column, Object filter) {
+	}
+
+	private record AggregateShape(String function, String column, Object filter) {
+	}
+
+	private record UpdateShape(List<String> columns, Object filter) {
+	}
 
-		try (PreparedStatement s = this.sql.prepareStatement(sql)) {
-			if (jdbcFilter != null) jdbcFilter.fillParameters(new JdbcFilter.Filler() {
+	private record DeleteShape(Object filter) {
+	}
+
+	private record Plan(String sql, List<JdbcFieldType<?>> parameters, int maxInWidth) {
+		public void fillParameters(PreparedStatement s, Filter<?> filter) throws SQLException {
+			fillParameters(s, 0, filter);
+		}
+
+		public void fillParameters(PreparedStatement s, int offset, Filter<?> filter) throws SQLException {
+			if (filter != null) JdbcFilter.fillParameters(filter, parameters, maxInWidth, new JdbcFilter.Filler() {
 				@Override
 				public <T> void fill(int index, JdbcFieldType<T> valueType, T value) throws SQLException {
-					valueType.setTo(s, index + 1, value);
+					valueType.setTo(s, offset + index + 1, value);
 				}
 			});
+		}
 
-			return s.executeUpdate();
-		} catch (SQLException e) {
-			throw new RuntimeException("Error while querying table", e);
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public void fillParameters(PreparedStatement s, Object[] values) throws SQLException {
+			for (int i = 0; i < values.length; i++) ((JdbcFieldType) parameters.get(i)).setTo(s, i + 1, values[i]);
 		}
 	}
 }
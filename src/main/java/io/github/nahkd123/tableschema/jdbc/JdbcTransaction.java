@@ -0,0 +1,233 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.nahkd123.tableschema.Transaction;
+
+class JdbcTransaction implements Transaction {
+	private JdbcDatabase database;
+	private Connection sql;
+	private JdbcTransaction parent;
+	private java.sql.Savepoint nestedAt;
+	private Set<AtomicLong> changed;
+	private Set<AutoCloseable> held;
+	private boolean ended = false;
+
+	public JdbcTransaction(JdbcDatabase database, Connection sql, JdbcTransaction parent) throws SQLException {
+		this.database = database;
+		this.sql = sql;
+		this.parent = parent;
+		this.changed = parent != null ? parent.changed : new HashSet<>();
+		this.held = parent != null ? parent.held : ConcurrentHashMap.newKeySet();
+
+		// Nested transactions are savepoints inside the outermost transaction
+		if (parent == null) sql.setAutoCommit(false);
+		else nestedAt = sql.setSavepoint();
+	}
+
+	public JdbcTransaction parent() {
+		return parent;
+	}
+
+	public Connection connection() {
+		return sql;
+	}
+
+	/**
+	 * <p>
+	 * Record that a table was changed in this transaction. The version of table
+	 * will be bumped again when the changes are committed or rolled back, since
+	 * that is when other threads see the changes (or stop seeing them).
+	 * </p>
+	 */
+	public void changed(AtomicLong version) {
+		changed.add(version);
+	}
+
+	public boolean hasChanged(AtomicLong version) {
+		return changed.contains(version);
+	}
+
+	private void bumpChanged() {
+		for (AtomicLong version : changed) version.incrementAndGet();
+	}
+
+	/**
+	 * <p>
+	 * Record an open query result that reads from connection of this
+	 * transaction. Query results that are still open when the outermost
+	 * transaction ends are closed, since the connection is given back to
+	 * connection source and may be used by someone else.
+	 * </p>
+	 */
+	public void hold(AutoCloseable holder) {
+		held.add(holder);
+	}
+
+	public void unhold(AutoCloseable holder) {
+		held.remove(holder);
+	}
+
+	private void closeHeld() {
+		for (AutoCloseable holder : List.copyOf(held)) {
+			try {
+				holder.close();
+			} catch (Exception e) {
+				// Query result is closed anyway, and transaction already ended
+			}
+		}
+
+		held.clear();
+	}
+
+	private void ensureActive() {
+		if (ended) throw new IllegalStateException("Transaction already ended");
+		if (database.currentTransaction() != this)
+			throw new IllegalStateException("Transaction is not the innermost transaction of current thread");
+	}
+
+	@Override
+	public void commit() {
+		ensureActive();
+
+		try {
+			if (parent == null) {
+				sql.commit();
+				sql.setAutoCommit(true);
+			} else {
+				sql.releaseSavepoint(nestedAt);
+			}
+		} catch (SQLException e) {
+			if (parent == null) abandon(e);
+			throw new RuntimeException("Error while committing transaction", e);
+		} finally {
+			if (parent == null) bumpChanged();
+			end();
+		}
+	}
+
+	@Override
+	public void rollback() {
+		ensureActive();
+
+		try {
+			if (parent == null) {
+				sql.rollback();
+				sql.setAutoCommit(true);
+			} else {
+				sql.rollback(nestedAt);
+				sql.releaseSavepoint(nestedAt);
+			}
+		} catch (SQLException e) {
+			if (parent == null) abandon(e);
+			throw new RuntimeException("Error while rolling back transaction", e);
+		} finally {
+			bumpChanged();
+			end();
+		}
+	}
+
+	private void abandon(SQLException cause) {
+		// Bring the connection back to auto-commit mode without committing anything
+		try {
+			sql.rollback();
+			sql.setAutoCommit(true);
+		} catch (SQLException e) {
+			cause.addSuppressed(e);
+		}
+	}
+
+	private void end() {
+		ended = true;
+		if (parent == null) closeHeld();
+		database.endTransaction(this);
+	}
+
+	@Override
+	public Savepoint savepoint() {
+		ensureActive();
+
+		try {
+			return new JdbcSavepoint(this, sql.setSavepoint());
+		} catch (SQLException e) {
+			throw new RuntimeException("Error while creating savepoint", e);
+		}
+	}
+
+	@Override
+	public void rollbackTo(Savepoint savepoint) {
+		ensureActive();
+
+		try {
+			sql.rollback(unwrap(savepoint));
+		} catch (SQLException e) {
+			throw new RuntimeException("Error while rolling back to savepoint", e);
+		} finally {
+			bumpChanged();
+		}
+	}
+
+	@Override
+	public void release(Savepoint savepoint) {
+		ensureActive();
+
+		try {
+			sql.releaseSavepoint(unwrap(savepoint));
+		} catch (SQLException e) {
+			throw new RuntimeException("Error while releasing savepoint", e);
+		}
+	}
+
+	private java.sql.Savepoint unwrap(Savepoint savepoint) {
+		if (!(savepoint instanceof JdbcSavepoint(JdbcTransaction owner, java.sql.Savepoint jdbcSavepoint))
+			|| owner != this)
+			throw new IllegalArgumentException("Savepoint does not belong to this transaction");
+		return jdbcSavepoint;
+	}
+
+	/**
+	 * <p>
+	 * Roll back this transaction if it is not ended yet. Nested transactions that
+	 * are still open are rolled back first, so the connection always leaves
+	 * transaction mode once the outermost transaction is closed.
+	 * </p>
+	 */
+	@Override
+	public void close() {
+		if (ended) return;
+		RuntimeException error = null;
+
+		for (JdbcTransaction child = database.currentTransaction(); child != this && isParentOf(child); child = database.currentTransaction()) {
+			try {
+				child.close();
+			} catch (RuntimeException e) {
+				// Child transaction is ended anyway
+				if (error == null) error = e;
+				else error.addSuppressed(e);
+			}
+		}
+
+		try {
+			rollback();
+		} catch (RuntimeException e) {
+			if (error != null) e.addSuppressed(error);
+			throw e;
+		}
+
+		if (error != null) throw error;
+	}
+
+	private boolean isParentOf(JdbcTransaction child) {
+		for (JdbcTransaction t = child; t != null; t = t.parent) if (t == this) return true;
+		return false;
+	}
+
+	private record JdbcSavepoint(JdbcTransaction owner, java.sql.Savepoint savepoint) implements Savepoint {
+	}
+}
@@ -1,5 +1,7 @@
 package io.github.nahkd123.tableschema.jdbc.schema;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.function.Function;
 
@@ -12,6 +14,28 @@ public record JdbcField<R, T>(JdbcFieldType<T> type, String label, Function<R, T
 		return new JdbcField<>(JdbcFieldType.map(field.type()), field.label(), field.getter(), field.constraints());
 	}
 
+	/**
+	 * <p>
+	 * Set value of this field in row to {@link PreparedStatement}. Primitive
+	 * getters from {@link Field#ofInt(String, java.util.function.ToIntFunction)}
+	 * and friends are used directly when the column has the same primitive type,
+	 * so the value is never boxed.
+	 * </p>
+	 * 
+	 * @param statement The prepared statement.
+	 * @param index     The parameter index in statement.
+	 * @param row       The row to get value from.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void setTo(PreparedStatement statement, int index, R row) throws SQLException {
+		switch ((Function) getter) {
+		case Field.IntGetter g when type.equals(JdbcFieldType.INT) -> statement.setInt(index, g.applyAsInt(row));
+		case Field.LongGetter g when type.equals(JdbcFieldType.LONG) -> statement.setLong(index, g.applyAsLong(row));
+		case Field.DoubleGetter g when type.equals(JdbcFieldType.DOUBLE) -> statement.setDouble(index, g.applyAsDouble(row));
+		default -> type.setTo(statement, index, getter.apply(row));
+		}
+	}
+
 	public String columnDef(boolean isPrimaryKey) {
 		String out = "\"%s\" %s".formatted(label, type.sqlType());
 		if (isPrimaryKey) out += " PRIMARY KEY";
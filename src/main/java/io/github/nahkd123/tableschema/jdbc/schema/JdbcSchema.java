@@ -3,11 +3,14 @@ package io.github.nahkd123.tableschema.jdbc.schema;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import io.github.nahkd123.tableschema.jdbc.JdbcDialect;
+import io.github.nahkd123.tableschema.jdbc.schema.type.JdbcFieldType;
 import io.github.nahkd123.tableschema.schema.Field;
 import io.github.nahkd123.tableschema.schema.Schema;
 import io.github.nahkd123.tableschema.schema.Schema.Factory;
@@ -66,6 +69,11 @@ public record JdbcSchema<K, R>(JdbcField<R, ?> primaryKey, List<JdbcField<R, ?>>
 			primaryKey.label());
 	}
 
+	public String parameterizedUpsertCode(String table, JdbcDialect dialect) {
+		return dialect.upsertCode(parameterizedInsertCode(table), primaryKey.label(),
+			fields.stream().map(JdbcField::label).toList());
+	}
+
 	public void setTo(PreparedStatement s, int baseIndex, R value) throws SQLException {
 		setToPreparedStatement(s, baseIndex, primaryKey, value);
 		for (int i = 0; i < fields.size(); i++)
@@ -73,23 +81,100 @@ public record JdbcSchema<K, R>(JdbcField<R, ?> primaryKey, List<JdbcField<R, ?>>
 	}
 
 	public static <T, R> void setToPreparedStatement(PreparedStatement s, int index, JdbcField<R, T> field, R row) throws SQLException {
-		T value = field.getter().apply(row);
-		field.type().setTo(s, index, value);
+		field.setTo(s, index, row);
 	}
 
 	public String migrateCode(String from, String to, Set<String> existingColumns) {
-		if (!existingColumns.contains(primaryKey.label())) {
+		Map<String, String> columnTypes = new HashMap<>();
+		for (String column : existingColumns) columnTypes.put(column, null);
+		return migrateCode(from, to, columnTypes);
+	}
+
+	/**
+	 * <p>
+	 * Generate SQL code for copying rows from existing table to new table. Each
+	 * column is converted with {@link JdbcFieldType#convertCode(String, String)}.
+	 * </p>
+	 * 
+	 * @param from            The existing table.
+	 * @param to              The new table.
+	 * @param existingColumns A map of column names in existing table to their SQL
+	 *                        types (which can be {@code null} if unknown).
+	 * @return SQL code for copying rows.
+	 * @throws IllegalArgumentException If some columns can't be converted with
+	 *                                  SQL.
+	 * @see #canMigrateInSql(String, Map)
+	 */
+	public String migrateCode(String from, String to, Map<String, String> existingColumns) {
+		List<JdbcField<R, ?>> columns = migratedColumns(existingColumns);
+		if (!canMigrateInSql(from, existingColumns)) throw new IllegalArgumentException(
+			"Existing columns can't be converted with SQL, copy rows with migrateSelectCode() instead");
+
+		return "INSERT INTO \"%s\" (%s) %s".formatted(
+			to, columnNamesCode(null, columns),
+			migrateSelectCode(from, existingColumns));
+	}
+
+	/**
+	 * <p>
+	 * Check whether all columns of existing table can be converted with SQL, so
+	 * rows can be copied with {@link #migrateCode(String, String, Map)}.
+	 * </p>
+	 */
+	public boolean canMigrateInSql(String from, Map<String, String> existingColumns) {
+		for (JdbcField<R, ?> f : migratedColumns(existingColumns))
+			if (f.type().convertCode(columnCode(from, f), existingColumns.get(f.label())) == null) return false;
+		return true;
+	}
+
+	/**
+	 * <p>
+	 * Get the columns that are copied from existing table, in the order used by
+	 * {@link #migrateSelectCode(String, Map)} and
+	 * {@link #migrateInsertCode(String, Map)}.
+	 * </p>
+	 */
+	public List<JdbcField<R, ?>> migratedColumns(Map<String, String> existingColumns) {
+		if (!existingColumns.containsKey(primaryKey.label())) {
 			throw new IllegalArgumentException("Existing columns does not have primary key column '%s'"
 				.formatted(primaryKey.label()));
 		}
 
-		Set<String> columns = new HashSet<>();
-		columns.add(primaryKey.label());
-		columns.addAll(fields.stream().map(JdbcField::label).toList());
-		columns.retainAll(existingColumns);
+		List<JdbcField<R, ?>> columns = new ArrayList<>();
+		columns.add(primaryKey);
+		columns.addAll(fields);
+		columns.removeIf(f -> !existingColumns.containsKey(f.label()));
+		return columns;
+	}
+
+	/**
+	 * <p>
+	 * Generate SQL code for selecting rows of existing table. Columns that can't
+	 * be converted with SQL are selected as-is, and they must be converted with
+	 * {@link JdbcFieldType#convertTo(PreparedStatement, int, java.sql.ResultSet, int, String)}.
+	 * </p>
+	 */
+	public String migrateSelectCode(String from, Map<String, String> existingColumns) {
+		return "SELECT %s FROM \"%s\"".formatted(
+			migratedColumns(existingColumns).stream()
+				.map(f -> {
+					String column = columnCode(from, f);
+					String converted = f.type().convertCode(column, existingColumns.get(f.label()));
+					return converted != null ? converted : column;
+				})
+				.collect(Collectors.joining(", ")),
+			from);
+	}
+
+	public String migrateInsertCode(String to, Map<String, String> existingColumns) {
+		List<JdbcField<R, ?>> columns = migratedColumns(existingColumns);
+		return "INSERT INTO \"%s\" (%s) VALUES (%s)".formatted(
+			to,
+			columnNamesCode(null, columns),
+			columns.stream().map(f -> "?").collect(Collectors.joining(", ")));
+	}
 
-		return "INSERT INTO \"%s\" (%s) SELECT %s FROM \"%s\"".formatted(
-			to, columns.stream().map(c -> "\"%s\"".formatted(c)).collect(Collectors.joining(", ")),
-			columns.stream().map(c -> "\"%s\".\"%s\"".formatted(from, c)).collect(Collectors.joining(", ")), from);
+	private static String columnCode(String table, JdbcField<?, ?> field) {
+		return "\"%s\".\"%s\"".formatted(table, field.label());
 	}
 }
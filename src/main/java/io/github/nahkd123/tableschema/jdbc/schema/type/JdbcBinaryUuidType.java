@@ -0,0 +1,78 @@
+package io.github.nahkd123.tableschema.jdbc.schema.type;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HexFormat;
+import java.util.UUID;
+
+record JdbcBinaryUuidType() implements JdbcFieldType<UUID> {
+	@Override
+	public String sqlType() {
+		return "BINARY(16)";
+	}
+
+	@Override
+	public String valueToCode(UUID value) {
+		return value == null ? "NULL" : "X'%s'".formatted(HexFormat.of().formatHex(toBytes(value)));
+	}
+
+	@Override
+	public void setTo(PreparedStatement statement, int index, UUID value) throws SQLException {
+		if (value == null) statement.setNull(index, Types.BINARY);
+		else statement.setBytes(index, toBytes(value));
+	}
+
+	@Override
+	public UUID getFrom(ResultSet set, int index) throws SQLException {
+		return fromRaw(set.getBytes(index));
+	}
+
+	@Override
+	public Object getRawFrom(ResultSet set, int index) throws SQLException {
+		return set.getBytes(index);
+	}
+
+	@Override
+	public UUID fromRaw(Object raw) throws SQLException {
+		byte[] bytes = (byte[]) raw;
+		if (bytes == null) return null;
+		if (bytes.length != 16) throw new SQLException("Expected 16 bytes for UUID but got %d".formatted(bytes.length));
+		long msb = 0, lsb = 0;
+		for (int i = 0; i < 8; i++) msb = (msb << 8) | (bytes[i] & 0xFF);
+		for (int i = 8; i < 16; i++) lsb = (lsb << 8) | (bytes[i] & 0xFF);
+		return new UUID(msb, lsb);
+	}
+
+	@Override
+	public String convertCode(String column, String fromSqlType) {
+		// Text UUIDs from FieldType.UUID: decoding hex digits is not portable SQL (SQLite only has unhex() since 3.41)
+		if (fromSqlType != null && JdbcFieldType.isText(fromSqlType)) return null;
+		return column;
+	}
+
+	@Override
+	public void convertTo(PreparedStatement statement, int index, ResultSet set, int column, String fromSqlType) throws SQLException {
+		if (fromSqlType == null || !JdbcFieldType.isText(fromSqlType)) {
+			JdbcFieldType.super.convertTo(statement, index, set, column, fromSqlType);
+			return;
+		}
+
+		String text = set.getString(column);
+
+		try {
+			setTo(statement, index, text != null ? UUID.fromString(text) : null);
+		} catch (IllegalArgumentException e) {
+			throw new SQLException("Invalid UUID '%s'".formatted(text), e);
+		}
+	}
+
+	private static byte[] toBytes(UUID value) {
+		byte[] bytes = new byte[16];
+		long msb = value.getMostSignificantBits(), lsb = value.getLeastSignificantBits();
+		for (int i = 7; i >= 0; i--, msb >>>= 8) bytes[i] = (byte) msb;
+		for (int i = 15; i >= 8; i--, lsb >>>= 8) bytes[i] = (byte) lsb;
+		return bytes;
+	}
+}
@@ -0,0 +1,72 @@
+package io.github.nahkd123.tableschema.jdbc.schema.type;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import io.github.nahkd123.tableschema.schema.type.EnumCodeType;
+
+record JdbcEnumCodeType<T>(EnumCodeType<T> type, ToIntFunction<T> code, Object[] byCode, Map<String, T> byId) implements JdbcFieldType<T> {
+	public static <T> JdbcEnumCodeType<T> of(EnumCodeType<T> type) {
+		int maxCode = type.values().stream().mapToInt(type.code()).max().orElse(-1);
+		Object[] byCode = new Object[maxCode + 1];
+		Map<String, T> byId = new HashMap<>();
+
+		for (T value : type.values()) {
+			byCode[type.code().applyAsInt(value)] = value;
+			byId.put(type.deriveId().apply(value), value);
+		}
+
+		return new JdbcEnumCodeType<>(type, type.code(), byCode, byId);
+	}
+
+	@Override
+	public String sqlType() {
+		return "SMALLINT";
+	}
+
+	@Override
+	public String valueToCode(T value) {
+		return value == null ? "NULL" : Integer.toString(code.applyAsInt(value));
+	}
+
+	@Override
+	public void setTo(PreparedStatement statement, int index, T value) throws SQLException {
+		if (value == null) statement.setNull(index, Types.SMALLINT);
+		else statement.setShort(index, (short) code.applyAsInt(value));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T getFrom(ResultSet set, int index) throws SQLException {
+		int c = set.getShort(index);
+		if (set.wasNull()) return null;
+		if (c < 0 || c >= byCode.length || byCode[c] == null) throw new SQLException("Unknown code %d".formatted(c));
+		return (T) byCode[c];
+	}
+
+	@Override
+	public String convertCode(String column, String fromSqlType) {
+		// String IDs from FieldType.ofEnum(): unknown IDs must fail the migration
+		// instead of silently becoming NULL, which SQL can't do portably
+		if (fromSqlType != null && JdbcFieldType.isText(fromSqlType)) return null;
+		return column;
+	}
+
+	@Override
+	public void convertTo(PreparedStatement statement, int index, ResultSet set, int column, String fromSqlType) throws SQLException {
+		if (fromSqlType == null || !JdbcFieldType.isText(fromSqlType)) {
+			JdbcFieldType.super.convertTo(statement, index, set, column, fromSqlType);
+			return;
+		}
+
+		String id = set.getString(column);
+		T value = id != null ? byId.get(id) : null;
+		if (id != null && value == null) throw new SQLException("Unknown enum ID '%s'".formatted(id));
+		setTo(statement, index, value);
+	}
+}
@@ -4,11 +4,17 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import io.github.nahkd123.tableschema.schema.type.BinaryUuidType;
+import io.github.nahkd123.tableschema.schema.type.EnumCodeType;
 import io.github.nahkd123.tableschema.schema.type.FieldType;
 import io.github.nahkd123.tableschema.schema.type.FixedStringType;
 import io.github.nahkd123.tableschema.schema.type.IdentityType;
 
 public interface JdbcFieldType<T> {
+	JdbcFieldType<Integer> INT = map(FieldType.INT);
+	JdbcFieldType<Long> LONG = map(FieldType.LONG);
+	JdbcFieldType<Double> DOUBLE = map(FieldType.DOUBLE);
+
 	/**
 	 * <p>
 	 * Get the SQL type name of this field type.
@@ -54,9 +60,99 @@ public interface JdbcFieldType<T> {
 	 */
 	T getFrom(ResultSet set, int index) throws SQLException;
 
+	/**
+	 * <p>
+	 * Get value returned from {@link ResultSet} without converting it, so it can
+	 * be converted later with {@link #fromRaw(Object)}, possibly on another
+	 * thread. The default implementation returns the converted value, which is
+	 * fine for types that are cheap to convert.
+	 * </p>
+	 * 
+	 * @param set   The result set.
+	 * @param index The column index in result set.
+	 * @return The raw value obtained from result set.
+	 */
+	default Object getRawFrom(ResultSet set, int index) throws SQLException {
+		return getFrom(set, index);
+	}
+
+	/**
+	 * <p>
+	 * Convert raw value obtained from {@link #getRawFrom(ResultSet, int)}. This
+	 * does not touch the result set, and it may be called from any thread.
+	 * </p>
+	 * 
+	 * @param raw The raw value.
+	 * @return The converted value.
+	 */
+	@SuppressWarnings("unchecked")
+	default T fromRaw(Object raw) throws SQLException {
+		return (T) raw;
+	}
+
+	/**
+	 * <p>
+	 * Convert value from column of existing table to this type during migration.
+	 * The default implementation copies the value as-is, which is enough when
+	 * the database can convert the value implicitly.
+	 * </p>
+	 * 
+	 * @param column      The quoted column of existing table.
+	 * @param fromSqlType The SQL type of existing column, or {@code null} if it is
+	 *                    unknown.
+	 * @return SQL expression that converts the column to this type, or
+	 *         {@code null} if the column can't be converted with portable SQL,
+	 *         in which case rows are copied with
+	 *         {@link #convertTo(PreparedStatement, int, ResultSet, int, String)}.
+	 */
+	default String convertCode(String column, String fromSqlType) {
+		return column;
+	}
+
+	/**
+	 * <p>
+	 * Convert value from column of existing table to this type in Java during
+	 * migration, for columns that {@link #convertCode(String, String)} can't
+	 * convert. The default implementation copies the value as-is.
+	 * </p>
+	 * 
+	 * @param statement   The insert statement of new table.
+	 * @param index       The parameter index in statement.
+	 * @param set         The result set of existing table.
+	 * @param column      The column index in result set.
+	 * @param fromSqlType The SQL type of existing column, or {@code null} if it is
+	 *                    unknown.
+	 */
+	default void convertTo(PreparedStatement statement, int index, ResultSet set, int column, String fromSqlType) throws SQLException {
+		copy(statement, index, set, column);
+	}
+
+	/**
+	 * <p>
+	 * Copy value from result set to prepared statement without converting it.
+	 * </p>
+	 */
+	static void copy(PreparedStatement statement, int index, ResultSet set, int column) throws SQLException {
+		Object value = set.getObject(column);
+		if (value == null) statement.setNull(index, set.getMetaData().getColumnType(column));
+		else statement.setObject(index, value);
+	}
+
+	/**
+	 * <p>
+	 * Check if SQL type of existing column stores text, such as
+	 * {@code VARCHAR(36)} or {@code TEXT}.
+	 * </p>
+	 */
+	static boolean isText(String sqlType) {
+		String upper = sqlType.toUpperCase();
+		return upper.contains("CHAR") || upper.contains("TEXT") || upper.contains("CLOB");
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static <T> JdbcFieldType<T> map(FieldType<T> type) {
 		JdbcFieldType<?> root = map0(type.root());
+		if (type.equals(type.root())) return (JdbcFieldType<T>) root;
 		// @formatter:off
 		return new JdbcMappedType(
 			root,
@@ -70,6 +166,8 @@ public interface JdbcFieldType<T> {
 		return switch (rootType) {
 		case IdentityType(Class<T> dataType) -> (JdbcFieldType<T>) JdbcIdentityType.TYPES.get(dataType);
 		case FixedStringType(int n) -> (JdbcFieldType<T>) new JdbcFixedStringType(n);
+		case BinaryUuidType() -> (JdbcFieldType<T>) new JdbcBinaryUuidType();
+		case EnumCodeType<T> enumCode -> JdbcEnumCodeType.of(enumCode);
 		default -> throw new IllegalArgumentException("Unexpected value: " + rootType);
 		};
 	}
@@ -3,17 +3,19 @@ package io.github.nahkd123.tableschema.jdbc.schema.type;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.Map;
 
-record JdbcIdentityType<T>(Class<T> type, String sqlType) implements JdbcFieldType<T> {
+record JdbcIdentityType<T>(Class<T> type, String sqlType, Setter<T> setter, Getter<T> getter) implements JdbcFieldType<T> {
+	// Each type is resolved to its ResultSet/PreparedStatement method once, instead of on every value
 	public static final Map<Class<?>, JdbcIdentityType<?>> TYPES = Map.of(
-		byte.class, new JdbcIdentityType<>(byte.class, "TINYINT"),
-		short.class, new JdbcIdentityType<>(short.class, "SMALLINT"),
-		int.class, new JdbcIdentityType<>(int.class, "INTEGER"),
-		long.class, new JdbcIdentityType<>(long.class, "BIGINT"),
-		float.class, new JdbcIdentityType<>(float.class, "REAL"),
-		double.class, new JdbcIdentityType<>(double.class, "FLOAT"),
-		String.class, new JdbcIdentityType<>(String.class, "NVARCHAR"));
+		byte.class, new JdbcIdentityType<>(byte.class, "TINYINT", PreparedStatement::setByte, ResultSet::getByte),
+		short.class, new JdbcIdentityType<>(short.class, "SMALLINT", PreparedStatement::setShort, ResultSet::getShort),
+		int.class, new JdbcIdentityType<>(int.class, "INTEGER", PreparedStatement::setInt, ResultSet::getInt),
+		long.class, new JdbcIdentityType<>(long.class, "BIGINT", PreparedStatement::setLong, ResultSet::getLong),
+		float.class, new JdbcIdentityType<>(float.class, "REAL", PreparedStatement::setFloat, ResultSet::getFloat),
+		double.class, new JdbcIdentityType<>(double.class, "FLOAT", PreparedStatement::setDouble, ResultSet::getDouble),
+		String.class, new JdbcIdentityType<>(String.class, "NVARCHAR", PreparedStatement::setString, ResultSet::getString));
 
 	@Override
 	public String valueToCode(T value) {
@@ -24,26 +26,23 @@ record JdbcIdentityType<T>(Class<T> type, String sqlType) implements JdbcFieldTy
 
 	@Override
 	public void setTo(PreparedStatement statement, int index, T value) throws SQLException {
-		if (type == byte.class) statement.setByte(index, (byte) value);
-		if (type == short.class) statement.setShort(index, (short) value);
-		if (type == int.class) statement.setInt(index, (int) value);
-		if (type == long.class) statement.setLong(index, (long) value);
-		if (type == float.class) statement.setFloat(index, (float) value);
-		if (type == double.class) statement.setDouble(index, (double) value);
-		if (type == String.class) statement.setString(index, (String) value);
+		if (value == null) statement.setNull(index, Types.NULL);
+		else setter.set(statement, index, value);
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public T getFrom(ResultSet set, int index) throws SQLException {
-		Object ret = null;
-		if (type == byte.class) ret = set.getByte(index);
-		if (type == short.class) ret = set.getShort(index);
-		if (type == int.class) ret = set.getInt(index);
-		if (type == long.class) ret = set.getLong(index);
-		if (type == float.class) ret = set.getFloat(index);
-		if (type == double.class) ret = set.getDouble(index);
-		if (type == String.class) ret = set.getString(index);
-		return set.wasNull() ? null : (T) ret;
+		T ret = getter.get(set, index);
+		return set.wasNull() ? null : ret;
+	}
+
+	@FunctionalInterface
+	static interface Setter<T> {
+		void set(PreparedStatement statement, int index, T value) throws SQLException;
+	}
+
+	@FunctionalInterface
+	static interface Getter<T> {
+		T get(ResultSet set, int index) throws SQLException;
 	}
 }
@@ -21,8 +21,28 @@ record JdbcMappedType<A, B>(JdbcFieldType<A> root, Function<A, B> forward, Funct
 		root.setTo(statement, index, backward.apply(value));
 	}
 
+	@Override
+	public String convertCode(String column, String fromSqlType) {
+		return root.convertCode(column, fromSqlType);
+	}
+
+	@Override
+	public void convertTo(PreparedStatement statement, int index, ResultSet set, int column, String fromSqlType) throws SQLException {
+		root.convertTo(statement, index, set, column, fromSqlType);
+	}
+
 	@Override
 	public B getFrom(ResultSet set, int index) throws SQLException {
 		return forward.apply(root.getFrom(set, index));
 	}
+
+	@Override
+	public Object getRawFrom(ResultSet set, int index) throws SQLException {
+		return root.getRawFrom(set, index);
+	}
+
+	@Override
+	public B fromRaw(Object raw) throws SQLException {
+		return forward.apply(root.fromRaw(raw));
+	}
 }
@@ -0,0 +1,98 @@
+package io.github.nahkd123.tableschema.memory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.nahkd123.tableschema.Database;
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.Transaction;
+import io.github.nahkd123.tableschema.schema.Schema;
+
+/**
+ * <p>
+ * Database that keeps all rows in memory. Rows are stored in a hash map keyed
+ * by primary key, and fields listed in {@link Schema#indexes()} are indexed
+ * with sorted maps. Filters and orderings are evaluated in Java, using indexes
+ * where possible. Rows are stored as-is, so row objects should be immutable.
+ * </p>
+ * <p>
+ * Tables can be used from multiple threads. Transactions are bound to the
+ * thread that began them, just like {@link io.github.nahkd123.tableschema.jdbc.JdbcDatabase},
+ * but they are not isolated: changes are visible to other threads before they
+ * are committed, and rolling back restores rows to their state before the
+ * transaction changed them.
+ * </p>
+ *
+ * <pre>
+ * try (MemoryDatabase db = new MemoryDatabase()) {
+ * 	Table&lt;UUID, Task&gt; tasks = db.table("tasks", Task.SCHEMA);
+ * 	tasks.migrate(false);
+ * 	// ...
+ * }
+ * </pre>
+ */
+public class MemoryDatabase implements Database {
+	private Map<String, MemoryStore<?, ?>> stores = new ConcurrentHashMap<>();
+	private ThreadLocal<MemoryTransaction> transaction = new ThreadLocal<>();
+	private Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+	@Override
+	public <K, R> Table<K, R> table(String name, Schema<K, R> schema) {
+		return new MemoryTable<>(this, name, schema);
+	}
+
+	MemoryStore<?, ?> store(String name) {
+		return stores.get(name);
+	}
+
+	void putStore(String name, MemoryStore<?, ?> store) {
+		stores.put(name, store);
+	}
+
+	MemoryStore<?, ?> removeStore(String name) {
+		return stores.remove(name);
+	}
+
+	/**
+	 * <p>
+	 * Get the write version counter of a table. Tables with the same name share
+	 * the same counter.
+	 * </p>
+	 */
+	AtomicLong version(String name) {
+		return versions.computeIfAbsent(name, key -> new AtomicLong());
+	}
+
+	@Override
+	public Transaction beginTransaction() {
+		MemoryTransaction created = new MemoryTransaction(this, transaction.get());
+		transaction.set(created);
+		return created;
+	}
+
+	MemoryTransaction currentTransaction() {
+		return transaction.get();
+	}
+
+	void endTransaction(MemoryTransaction ended) {
+		if (transaction.get() != ended) return;
+		if (ended.parent() != null) transaction.set(ended.parent());
+		else transaction.remove();
+	}
+
+	/**
+	 * <p>
+	 * Record an action that undo a change, if current thread is in a transaction.
+	 * </p>
+	 */
+	void addUndo(Runnable undo) {
+		MemoryTransaction active = transaction.get();
+		if (active != null) active.addUndo(undo);
+	}
+
+	@Override
+	public void close() {
+		stores.clear();
+	}
+}
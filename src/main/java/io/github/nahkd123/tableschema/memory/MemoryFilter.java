@@ -0,0 +1,138 @@
+package io.github.nahkd123.tableschema.memory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import io.github.nahkd123.tableschema.SortOrder;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.SortBy;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.type.BinaryUuidType;
+import io.github.nahkd123.tableschema.schema.type.EnumCodeType;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+/**
+ * <p>
+ * Evaluate filters and orderings in Java. Comparisons against {@code null}
+ * follow SQL semantic, so a filter like {@code NOT (field == value)} does not
+ * accept rows where field is {@code null}, just like in SQL databases.
+ * </p>
+ */
+class MemoryFilter {
+	/**
+	 * <p>
+	 * Compare 2 values of a field the way SQL databases compare their stored
+	 * values, with {@code null} first. Mapped values are compared by their root
+	 * value, so {@link FieldType#UUID} and {@link FieldType#ofEnum(Object[])}
+	 * values are ordered by their text, {@link FieldType#BINARY_UUID} values are
+	 * ordered by their unsigned bytes and {@link EnumCodeType} values are ordered
+	 * by their codes.
+	 * </p>
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static int compare(FieldType type, Object a, Object b) {
+		if (a == null || b == null) return a == null ? (b == null ? 0 : -1) : 1;
+
+		return switch (type.root()) {
+		case BinaryUuidType binary -> {
+			UUID x = (UUID) type.mapToRoot(a), y = (UUID) type.mapToRoot(b);
+			int c = Long.compareUnsigned(x.getMostSignificantBits(), y.getMostSignificantBits());
+			yield c != 0 ? c : Long.compareUnsigned(x.getLeastSignificantBits(), y.getLeastSignificantBits());
+		}
+		case EnumCodeType codes -> Integer.compare(
+			codes.code().applyAsInt(type.mapToRoot(a)),
+			codes.code().applyAsInt(type.mapToRoot(b)));
+		default -> ((Comparable) type.mapToRoot(a)).compareTo(type.mapToRoot(b));
+		};
+	}
+
+	/**
+	 * <p>
+	 * Create a comparator for values of a field.
+	 * </p>
+	 *
+	 * @see #compare(FieldType, Object, Object)
+	 */
+	public static Comparator<Object> valueOrder(Field<?, ?> field) {
+		FieldType<?> type = field.type();
+		return (a, b) -> compare(type, a, b);
+	}
+
+	public static <R> boolean test(Filter<R> filter, R row) {
+		return filter == null || Boolean.TRUE.equals(evaluate(filter, row));
+	}
+
+	/**
+	 * <p>
+	 * Evaluate filter with three-valued logic.
+	 * </p>
+	 *
+	 * @return {@code true}, {@code false} or {@code null} if the result is
+	 *         unknown.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <R> Boolean evaluate(Filter<R> filter, R row) {
+		return switch (filter) {
+		case Filter.Compare(Field field, int flags, Object value) -> {
+			Object actual = field.getter().apply(row);
+			if (actual == null || value == null) yield null;
+			int c = compare(field.type(), actual, value);
+			yield ((flags & Filter.Compare.EQUALS) != 0 && c == 0)
+				|| ((flags & Filter.Compare.GREATER) != 0 && c > 0)
+				|| ((flags & Filter.Compare.LESS) != 0 && c < 0);
+		}
+		case Filter.In(Field field, List values) -> {
+			Object actual = field.getter().apply(row);
+			if (values.isEmpty()) yield false;
+			if (actual == null) yield null;
+			if (values.contains(actual)) yield true;
+			yield values.contains(null) ? null : false;
+		}
+		case Filter.IsNull(Field field) -> field.getter().apply(row) == null;
+		case Filter.Not(Filter child) -> {
+			Boolean result = evaluate(child, row);
+			yield result != null ? !result : null;
+		}
+		case Filter.And(List children) -> {
+			Boolean result = true;
+
+			for (Object child : children) {
+				Boolean childResult = evaluate((Filter<R>) child, row);
+				if (Boolean.FALSE.equals(childResult)) yield false;
+				if (childResult == null) result = null;
+			}
+
+			yield result;
+		}
+		case Filter.Or(List children) -> {
+			Boolean result = false;
+
+			for (Object child : children) {
+				Boolean childResult = evaluate((Filter<R>) child, row);
+				if (Boolean.TRUE.equals(childResult)) yield true;
+				if (childResult == null) result = null;
+			}
+
+			yield result;
+		}
+		default -> throw new IllegalArgumentException("Unexpected value: " + filter);
+		};
+	}
+
+	/**
+	 * <p>
+	 * Create a comparator for ordering rows. Rows with the same value are ordered
+	 * by primary key, and {@code null} values come first in ascending order.
+	 * </p>
+	 */
+	public static <R> Comparator<R> comparator(SortBy<R> ordering, Field<R, ?> primaryKey) {
+		Comparator<R> comparator = Comparator.comparing(primaryKey.getter()::apply, valueOrder(primaryKey));
+
+		if (!ordering.field().label().equals(primaryKey.label()))
+			comparator = Comparator.<R, Object>comparing(ordering.field().getter()::apply, valueOrder(ordering.field()))
+				.thenComparing(comparator);
+
+		return ordering.order() == SortOrder.DESCENDING ? comparator.reversed() : comparator;
+	}
+}
@@ -0,0 +1,106 @@
+package io.github.nahkd123.tableschema.memory;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.schema.Field;
+
+/**
+ * <p>
+ * Sorted index of a single field. Each distinct value maps to the primary keys
+ * of rows with that value, in primary key order. Walking the index gives rows
+ * in the same order as sorting by the field, so it can be used for both
+ * filtering and ordering.
+ * </p>
+ *
+ * @param <K> Type of primary key.
+ * @param <R> Type of table row.
+ */
+class MemoryIndex<K, R> {
+	private Field<R, ?> field;
+	private Comparator<Object> keyOrder;
+	private NavigableMap<Object, NavigableSet<K>> entries;
+
+	public MemoryIndex(Field<R, ?> field, Field<R, K> primaryKey) {
+		this.field = field;
+		this.keyOrder = MemoryFilter.valueOrder(primaryKey);
+		this.entries = new TreeMap<>(MemoryFilter.valueOrder(field));
+	}
+
+	public Field<R, ?> field() {
+		return field;
+	}
+
+	public NavigableMap<Object, NavigableSet<K>> entries() {
+		return entries;
+	}
+
+	public void add(K key, R row) {
+		entries.computeIfAbsent(field.getter().apply(row), v -> new TreeSet<>(keyOrder)).add(key);
+	}
+
+	public void remove(K key, R row) {
+		Object value = field.getter().apply(row);
+		Set<K> keys = entries.get(value);
+		if (keys == null) return;
+		keys.remove(key);
+		if (keys.isEmpty()) entries.remove(value);
+	}
+
+	/**
+	 * <p>
+	 * Get primary keys of rows with value equals to specified value.
+	 * </p>
+	 */
+	public Set<K> get(Object value) {
+		Set<K> keys = value != null ? entries.get(value) : null;
+		return keys != null ? keys : Set.of();
+	}
+
+	/**
+	 * <p>
+	 * Get primary keys of rows where value is {@code null}.
+	 * </p>
+	 */
+	public Set<K> getNull() {
+		Set<K> keys = entries.get(null);
+		return keys != null ? keys : Set.of();
+	}
+
+	/**
+	 * <p>
+	 * Find primary keys of rows that may pass the comparison.
+	 * </p>
+	 *
+	 * @param flags Comparison flags from {@link Filter.Compare}.
+	 * @param value The value to compare against.
+	 * @return The primary keys, or {@code null} if this index can't narrow down
+	 *         the rows.
+	 */
+	public Collection<K> lookup(int flags, Object value) {
+		if (value == null) return List.of();
+		boolean equals = (flags & Filter.Compare.EQUALS) != 0;
+		boolean greater = (flags & Filter.Compare.GREATER) != 0;
+		boolean less = (flags & Filter.Compare.LESS) != 0;
+
+		if (greater && less) return null;
+		if (!greater && !less) return equals ? get(value) : List.of();
+
+		// null values are the first entry and never pass comparisons
+		Map<Object, NavigableSet<K>> range = greater
+			? entries.tailMap(value, equals)
+			: entries.headMap(value, equals).tailMap(null, false);
+		Set<K> keys = new LinkedHashSet<>();
+		for (Set<K> bucket : range.values()) keys.addAll(bucket);
+		return keys;
+	}
+}
@@ -0,0 +1,198 @@
+package io.github.nahkd123.tableschema.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.schema.Constraint;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Index;
+import io.github.nahkd123.tableschema.schema.Schema;
+
+/**
+ * <p>
+ * Rows of a single in-memory table, keyed by primary key. Every field in
+ * {@link Schema#indexes()} (both {@link Index#fields()} and
+ * {@link Index#ordering()}) and every field with {@link Constraint#unique()}
+ * gets its own {@link MemoryIndex}. Filters of partial indexes are ignored, so
+ * the index always covers all rows.
+ * </p>
+ * <p>
+ * Callers must hold the read lock for reading and the write lock for writing.
+ * </p>
+ *
+ * @param <K> Type of primary key.
+ * @param <R> Type of table row.
+ */
+class MemoryStore<K, R> {
+	private Schema<K, R> schema;
+	private ReadWriteLock lock = new ReentrantReadWriteLock();
+	private Map<K, R> rows = new LinkedHashMap<>();
+	private Map<String, MemoryIndex<K, R>> indexes = new LinkedHashMap<>();
+	private List<Field<R, ?>> uniqueFields = new ArrayList<>();
+	private List<Field<R, ?>> notNullFields = new ArrayList<>();
+
+	public MemoryStore(Schema<K, R> schema) {
+		this.schema = schema;
+
+		for (Index<R> index : schema.indexes()) {
+			for (Field<R, ?> field : index.fields()) addIndex(field);
+			for (var ordering : index.ordering()) addIndex(ordering.field());
+		}
+
+		for (Field<R, ?> field : schema.fields()) {
+			if (field.constraints().stream().anyMatch(c -> c instanceof Constraint.Unique)) {
+				uniqueFields.add(field);
+				addIndex(field);
+			}
+
+			if (field.constraints().stream().anyMatch(c -> c instanceof Constraint.NotNull)) notNullFields.add(field);
+		}
+	}
+
+	private void addIndex(Field<R, ?> field) {
+		if (field.label().equals(schema.primaryKey().label())) return;
+		indexes.computeIfAbsent(field.label(), label -> new MemoryIndex<>(field, schema.primaryKey()));
+	}
+
+	public Schema<K, R> schema() {
+		return schema;
+	}
+
+	public ReadWriteLock lock() {
+		return lock;
+	}
+
+	public Map<K, R> rows() {
+		return rows;
+	}
+
+	public MemoryIndex<K, R> index(Field<R, ?> field) {
+		return indexes.get(field.label());
+	}
+
+	public K keyOf(R row) {
+		return schema.primaryKey().getter().apply(row);
+	}
+
+	/**
+	 * <p>
+	 * Insert or replace row with the same primary key. Constraints are checked
+	 * before the row is stored.
+	 * </p>
+	 *
+	 * @param row The row.
+	 * @return The replaced row, or {@code null} if there was no row with the same
+	 *         primary key.
+	 */
+	public R put(R row) {
+		K key = keyOf(row);
+		if (key == null) throw new IllegalStateException("Primary key must not be null");
+
+		for (Field<R, ?> field : notNullFields) {
+			if (field.getter().apply(row) == null)
+				throw new IllegalStateException("Field '%s' must not be null".formatted(field.label()));
+		}
+
+		for (Field<R, ?> field : uniqueFields) {
+			Object value = field.getter().apply(row);
+			if (value == null) continue;
+
+			for (K other : index(field).get(value)) {
+				if (!other.equals(key)) throw new IllegalStateException("Duplicated value '%s' in unique field '%s'"
+					.formatted(value, field.label()));
+			}
+		}
+
+		R previous = rows.put(key, row);
+		if (previous != null) for (MemoryIndex<K, R> index : indexes.values()) index.remove(key, previous);
+		for (MemoryIndex<K, R> index : indexes.values()) index.add(key, row);
+		return previous;
+	}
+
+	public R remove(K key) {
+		R previous = rows.remove(key);
+		if (previous != null) for (MemoryIndex<K, R> index : indexes.values()) index.remove(key, previous);
+		return previous;
+	}
+
+	/**
+	 * <p>
+	 * Restore the row with specified key to previous state.
+	 * </p>
+	 *
+	 * @param key      The primary key.
+	 * @param previous The previous row, or {@code null} if there was no row.
+	 */
+	public void restore(K key, R previous) {
+		remove(key);
+		if (previous != null) put(previous);
+	}
+
+	/**
+	 * <p>
+	 * Find primary keys of rows that may pass the filter using primary key and
+	 * indexes. Rows must still be tested against the filter.
+	 * </p>
+	 *
+	 * @param filter The filter.
+	 * @return Primary keys of candidate rows, or {@code null} if all rows must be
+	 *         scanned.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public Collection<K> candidates(Filter<R> filter) {
+		return switch (filter) {
+		case Filter.Compare(Field field, int flags, Object value) when isPrimaryKey(field) -> {
+			if (flags != Filter.Compare.EQUALS) yield null;
+			yield value != null && rows.containsKey(value) ? List.of((K) value) : List.of();
+		}
+		case Filter.Compare(Field field, int flags, Object value) when index(field) != null -> index(field).lookup(flags, value);
+		case Filter.In(Field field, List values) when isPrimaryKey(field) -> {
+			Set<K> keys = new LinkedHashSet<>();
+			for (Object value : values) if (value != null && rows.containsKey(value)) keys.add((K) value);
+			yield keys;
+		}
+		case Filter.In(Field field, List values) when index(field) != null -> {
+			Set<K> keys = new LinkedHashSet<>();
+			for (Object value : values) keys.addAll(index(field).get(value));
+			yield keys;
+		}
+		case Filter.IsNull(Field field) when isPrimaryKey(field) -> List.of();
+		case Filter.IsNull(Field field) when index(field) != null -> index(field).getNull();
+		case Filter.And(List children) -> {
+			// Any child narrows down the rows, so pick the most selective one
+			Collection<K> smallest = null;
+
+			for (Object child : children) {
+				Collection<K> keys = candidates((Filter<R>) child);
+				if (keys != null && (smallest == null || keys.size() < smallest.size())) smallest = keys;
+			}
+
+			yield smallest;
+		}
+		case Filter.Or(List children) -> {
+			Set<K> keys = new LinkedHashSet<>();
+
+			for (Object child : children) {
+				Collection<K> childKeys = candidates((Filter<R>) child);
+				if (childKeys == null) yield null;
+				keys.addAll(childKeys);
+			}
+
+			yield keys;
+		}
+		default -> null;
+		};
+	}
+
+	private boolean isPrimaryKey(Field<?, ?> field) {
+		return field.label().equals(schema.primaryKey().label());
+	}
+}
@@ -0,0 +1,422 @@
+package io.github.nahkd123.tableschema.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.github.nahkd123.tableschema.SortOrder;
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.Assignment;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.QueryOptions;
+import io.github.nahkd123.tableschema.query.QueryResult;
+import io.github.nahkd123.tableschema.query.SortBy;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+
+class MemoryTable<K, R> implements Table<K, R> {
+	private MemoryDatabase database;
+	private String name;
+	private Schema<K, R> schema;
+	private AtomicLong version;
+
+	public MemoryTable(MemoryDatabase database, String name, Schema<K, R> schema) {
+		this.database = database;
+		this.name = name;
+		this.schema = schema;
+		this.version = database.version(name);
+	}
+
+	@SuppressWarnings("unchecked")
+	private MemoryStore<K, R> store() {
+		MemoryStore<K, R> store = (MemoryStore<K, R>) database.store(name);
+		if (store == null) throw new IllegalStateException("Table '%s' does not exist".formatted(name));
+		return store;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public MigrationReport migrate(boolean backup) {
+		synchronized (database) {
+			MemoryStore<?, ?> existing = database.store(name);
+			int fromVersion = -1;
+
+			if (existing != null && schema.version() != -1) {
+				fromVersion = existing.schema().version();
+
+				if (fromVersion > schema.version()) {
+					throw new RuntimeException("Schema version is currently %d but found %d in database"
+						.formatted(schema.version(), fromVersion));
+				} else if (fromVersion == schema.version()) return null;
+			}
+
+			MemoryStore<K, R> created = new MemoryStore<>(schema);
+			String backupName = null;
+
+			if (existing != null) {
+				Migration<R> migration = new Migration<>((Schema<?, Object>) existing.schema(), schema);
+				existing.lock().readLock().lock();
+
+				try {
+					for (Object row : existing.rows().values()) created.put(migration.apply(row));
+				} finally {
+					existing.lock().readLock().unlock();
+				}
+
+				if (backup) {
+					backupName = "%s:backup:%s".formatted(name, LocalDateTime.now());
+					database.putStore(backupName, existing);
+				}
+			}
+
+			database.putStore(name, created);
+			version.incrementAndGet();
+			return new MigrationReport(backupName, fromVersion, schema.version());
+		}
+	}
+
+	/**
+	 * <p>
+	 * Rebuild rows of old schema with factory of new schema, so the row type can
+	 * change between versions. Fields are matched by label, and fields that are
+	 * not in old schema are {@code null}.
+	 * </p>
+	 */
+	private static class Migration<R> {
+		private Schema<?, R> to;
+		private Function<Object, ?> key;
+		private List<Function<Object, ?>> getters = new ArrayList<>();
+
+		@SuppressWarnings("unchecked")
+		public Migration(Schema<?, Object> from, Schema<?, R> to) {
+			this.to = to;
+			this.key = (Function<Object, ?>) from.primaryKey().getter();
+
+			for (Field<R, ?> field : to.fields()) {
+				Function<Object, ?> getter = row -> null;
+
+				for (Field<Object, ?> old : from.fields()) {
+					if (!old.label().equals(field.label())) continue;
+					getter = (Function<Object, ?>) old.getter();
+					break;
+				}
+
+				getters.add(getter);
+			}
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public R apply(Object row) {
+			Object[] values = new Object[getters.size()];
+			for (int i = 0; i < values.length; i++) values[i] = getters.get(i).apply(row);
+			return (R) ((Schema) to).factory().create(key.apply(row), Arrays.asList(values));
+		}
+	}
+
+	@Override
+	public void drop() {
+		if (database.removeStore(name) == null)
+			throw new IllegalStateException("Table '%s' does not exist".formatted(name));
+		version.incrementAndGet();
+	}
+
+	@Override
+	public long version() {
+		// Changes are visible to all threads right away, so there is no need to check for transactions
+		return version.get();
+	}
+
+	@Override
+	public Field<R, K> primaryKey() {
+		return schema.primaryKey();
+	}
+
+	@Override
+	public int insert(Collection<R> values) {
+		return write((store, changes) -> {
+			for (R value : values) {
+				K key = store.keyOf(value);
+				if (key != null && store.rows().containsKey(key))
+					throw new IllegalStateException("Row with primary key '%s' already exists".formatted(key));
+				store.put(value);
+				changes.add(new Change<>(key, null));
+			}
+
+			return values.size();
+		});
+	}
+
+	@Override
+	public int upsert(Collection<R> values) {
+		return write((store, changes) -> {
+			for (R value : values) changes.add(new Change<>(store.keyOf(value), store.put(value)));
+			return values.size();
+		});
+	}
+
+	@Override
+	public QueryResult<R> query(Filter<R> filter, SortBy<R> ordering) {
+		return query(filter, ordering, QueryOptions.DEFAULT);
+	}
+
+	@Override
+	public QueryResult<R> query(Filter<R> filter, SortBy<R> ordering, QueryOptions options) {
+		MemoryStore<K, R> store = store();
+		int limit = options.limit() > 0 && options.maxRows() > 0
+			? Math.min(options.limit(), options.maxRows())
+			: Math.max(options.limit(), options.maxRows());
+		List<R> rows = new ArrayList<>();
+		store.lock().readLock().lock();
+
+		try {
+			Collection<K> candidates = filter != null ? store.candidates(filter) : null;
+			MemoryIndex<K, R> index = ordering != null && candidates == null ? store.index(ordering.field()) : null;
+
+			if (ordering == null || index != null) {
+				Page<R> page = new Page<>(rows, options.offset(), limit);
+				if (index != null) scanIndex(store, index, ordering.order(), filter, page);
+				else scan(store, candidates, filter, page);
+			} else {
+				scan(store, candidates, filter, new Page<>(rows, 0, 0));
+				rows.sort(MemoryFilter.comparator(ordering, schema.primaryKey()));
+				int from = (int) Math.min(options.offset(), rows.size());
+				int to = limit > 0 ? (int) Math.min((long) from + limit, rows.size()) : rows.size();
+				rows = rows.subList(from, to);
+			}
+		} finally {
+			store.lock().readLock().unlock();
+		}
+
+		return QueryResult.of(rows);
+	}
+
+	private void scan(MemoryStore<K, R> store, Collection<K> candidates, Filter<R> filter, Page<R> page) {
+		if (candidates == null) {
+			for (R row : store.rows().values()) if (!page.offer(filter, row)) return;
+		} else {
+			for (K key : candidates) if (!page.offer(filter, store.rows().get(key))) return;
+		}
+	}
+
+	private void scanIndex(MemoryStore<K, R> store, MemoryIndex<K, R> index, SortOrder order, Filter<R> filter, Page<R> page) {
+		// Index is already sorted by field value, then by primary key
+		boolean descending = order == SortOrder.DESCENDING;
+		Collection<NavigableSet<K>> buckets = descending
+			? index.entries().descendingMap().values()
+			: index.entries().values();
+
+		for (NavigableSet<K> bucket : buckets) {
+			for (K key : descending ? bucket.descendingSet() : bucket) {
+				if (!page.offer(filter, store.rows().get(key))) return;
+			}
+		}
+	}
+
+	@Override
+	public long count(Filter<R> filter) {
+		MemoryStore<K, R> store = store();
+		store.lock().readLock().lock();
+
+		try {
+			if (filter == null) return store.rows().size();
+			Collection<K> candidates = store.candidates(filter);
+			Iterable<R> rows = candidates != null
+				? candidates.stream().map(store.rows()::get).toList()
+				: store.rows().values();
+			long count = 0;
+			for (R row : rows) if (MemoryFilter.test(filter, row)) count++;
+			return count;
+		} finally {
+			store.lock().readLock().unlock();
+		}
+	}
+
+	@Override
+	public int update(Collection<R> values) {
+		int count = 0;
+		for (boolean updated : updateEach(values)) if (updated) count++;
+		return count;
+	}
+
+	@Override
+	public boolean[] updateEach(Collection<R> values) {
+		return write((store, changes) -> {
+			boolean[] updated = new boolean[values.size()];
+			int i = 0;
+
+			for (R value : values) {
+				K key = store.keyOf(value);
+
+				if (key != null && store.rows().containsKey(key)) {
+					changes.add(new Change<>(key, store.put(value)));
+					updated[i] = true;
+				}
+
+				i++;
+			}
+
+			return updated;
+		});
+	}
+
+	@Override
+	public int update(Filter<R> filter, List<Assignment<R, ?>> assignments) {
+		if (assignments.isEmpty()) throw new IllegalArgumentException("Assignments must not be empty");
+
+		return write((store, changes) -> {
+			List<R> matched = select(store, filter);
+
+			for (R row : matched) {
+				K key = store.keyOf(row);
+				R updated = assign(key, row, assignments);
+				K updatedKey = store.keyOf(updated);
+
+				if (key.equals(updatedKey)) {
+					changes.add(new Change<>(key, store.put(updated)));
+				} else {
+					if (store.rows().containsKey(updatedKey))
+						throw new IllegalStateException("Row with primary key '%s' already exists".formatted(updatedKey));
+					changes.add(new Change<>(key, store.remove(key)));
+					store.put(updated);
+					changes.add(new Change<>(updatedKey, null));
+				}
+			}
+
+			return matched.size();
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private R assign(K key, R row, List<Assignment<R, ?>> assignments) {
+		List<Field<R, ?>> fields = schema.fields();
+		Object[] values = new Object[fields.size()];
+		for (int i = 0; i < values.length; i++) values[i] = fields.get(i).getter().apply(row);
+
+		for (Assignment<R, ?> assignment : assignments) {
+			String label = assignment.field().label();
+
+			if (label.equals(schema.primaryKey().label())) {
+				key = (K) assignment.value();
+				continue;
+			}
+
+			int i = 0;
+			while (i < fields.size() && !fields.get(i).label().equals(label)) i++;
+			if (i == fields.size()) throw new IllegalArgumentException("Field '%s' is not in table schema".formatted(label));
+			values[i] = assignment.value();
+		}
+
+		return schema.factory().create(key, Arrays.asList(values));
+	}
+
+	@Override
+	public int delete(Filter<R> filter) {
+		return write((store, changes) -> {
+			List<R> matched = select(store, filter);
+			for (R row : matched) changes.add(new Change<>(store.keyOf(row), store.remove(store.keyOf(row))));
+			return matched.size();
+		});
+	}
+
+	private List<R> select(MemoryStore<K, R> store, Filter<R> filter) {
+		List<R> rows = new ArrayList<>();
+		scan(store, filter != null ? store.candidates(filter) : null, filter, new Page<>(rows, 0, 0));
+		return rows;
+	}
+
+	/**
+	 * <p>
+	 * Apply changes while holding write lock of the table. If the action fails,
+	 * all changes made by the action are undone, just like a failed statement in
+	 * SQL databases. Otherwise the changes are recorded in the active
+	 * transaction.
+	 * </p>
+	 */
+	private <T> T write(WriteAction<K, R, T> action) {
+		MemoryStore<K, R> store = store();
+		List<Change<K, R>> changes = new ArrayList<>();
+		T result;
+		store.lock().writeLock().lock();
+
+		try {
+			result = action.apply(store, changes);
+		} catch (RuntimeException e) {
+			undo(store, changes);
+			throw e;
+		} finally {
+			store.lock().writeLock().unlock();
+		}
+
+		if (!changes.isEmpty()) {
+			version.incrementAndGet();
+			database.addUndo(() -> undo(store, changes));
+		}
+
+		return result;
+	}
+
+	private void undo(MemoryStore<K, R> store, List<Change<K, R>> changes) {
+		store.lock().writeLock().lock();
+
+		try {
+			for (int i = changes.size() - 1; i >= 0; i--) store.restore(changes.get(i).key(), changes.get(i).previous());
+		} finally {
+			store.lock().writeLock().unlock();
+		}
+
+		// Rolled back changes may have been read already
+		version.incrementAndGet();
+	}
+
+	@FunctionalInterface
+	private static interface WriteAction<K, R, T> {
+		T apply(MemoryStore<K, R> store, List<Change<K, R>> changes);
+	}
+
+	/**
+	 * <p>
+	 * Row with specified key before it was changed, or {@code null} if the row
+	 * didn't exist.
+	 * </p>
+	 */
+	private record Change<K, R>(K key, R previous) {
+	}
+
+	/**
+	 * <p>
+	 * Collect rows that passed the filter, skipping rows before offset and
+	 * stopping at limit.
+	 * </p>
+	 */
+	private static class Page<R> {
+		private List<R> rows;
+		private long skip;
+		private int limit;
+
+		public Page(List<R> rows, long offset, int limit) {
+			this.rows = rows;
+			this.skip = offset;
+			this.limit = limit;
+		}
+
+		/**
+		 * @return Whether more rows can be added.
+		 */
+		public boolean offer(Filter<R> filter, R row) {
+			if (row == null || !MemoryFilter.test(filter, row)) return true;
+
+			if (skip > 0) {
+				skip--;
+				return true;
+			}
+
+			rows.add(row);
+			return limit == 0 || rows.size() < limit;
+		}
+	}
+}
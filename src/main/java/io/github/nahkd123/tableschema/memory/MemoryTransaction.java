@@ -0,0 +1,126 @@
+package io.github.nahkd123.tableschema.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.nahkd123.tableschema.Transaction;
+
+/**
+ * <p>
+ * Transaction that records how to undo each change. Changes are applied to
+ * tables immediately, and rolling back applies the undo log in reverse order.
+ * Nested transactions and savepoints are positions in the undo log of the
+ * outermost transaction.
+ * </p>
+ */
+class MemoryTransaction implements Transaction {
+	private MemoryDatabase database;
+	private MemoryTransaction parent;
+	private List<Runnable> undoLog;
+	private int nestedAt;
+	private boolean ended = false;
+
+	public MemoryTransaction(MemoryDatabase database, MemoryTransaction parent) {
+		this.database = database;
+		this.parent = parent;
+		this.undoLog = parent != null ? parent.undoLog : new ArrayList<>();
+		this.nestedAt = undoLog.size();
+	}
+
+	public MemoryTransaction parent() {
+		return parent;
+	}
+
+	/**
+	 * <p>
+	 * Record an action that undo a change made in this transaction.
+	 * </p>
+	 */
+	public void addUndo(Runnable undo) {
+		undoLog.add(undo);
+	}
+
+	private void ensureActive() {
+		if (ended) throw new IllegalStateException("Transaction already ended");
+		if (database.currentTransaction() != this)
+			throw new IllegalStateException("Transaction is not the innermost transaction of current thread");
+	}
+
+	@Override
+	public void commit() {
+		ensureActive();
+
+		// Outer transaction still needs the undo log of committed nested transaction
+		if (parent == null) undoLog.clear();
+		end();
+	}
+
+	@Override
+	public void rollback() {
+		ensureActive();
+
+		try {
+			undoTo(nestedAt);
+		} finally {
+			end();
+		}
+	}
+
+	private void undoTo(int position) {
+		while (undoLog.size() > position) undoLog.removeLast().run();
+	}
+
+	private void end() {
+		ended = true;
+		database.endTransaction(this);
+	}
+
+	@Override
+	public Savepoint savepoint() {
+		ensureActive();
+		return new MemorySavepoint(this, undoLog.size());
+	}
+
+	@Override
+	public void rollbackTo(Savepoint savepoint) {
+		ensureActive();
+		undoTo(unwrap(savepoint));
+	}
+
+	@Override
+	public void release(Savepoint savepoint) {
+		ensureActive();
+		unwrap(savepoint);
+	}
+
+	private int unwrap(Savepoint savepoint) {
+		if (!(savepoint instanceof MemorySavepoint(MemoryTransaction owner, int position)) || owner != this)
+			throw new IllegalArgumentException("Savepoint does not belong to this transaction");
+		if (position > undoLog.size()) throw new IllegalArgumentException("Savepoint is no longer valid");
+		return position;
+	}
+
+	/**
+	 * <p>
+	 * Roll back this transaction if it is not ended yet. Nested transactions that
+	 * are still open are rolled back first.
+	 * </p>
+	 */
+	@Override
+	public void close() {
+		if (ended) return;
+
+		for (MemoryTransaction child = database.currentTransaction(); child != this && isParentOf(child); child = database.currentTransaction())
+			child.close();
+
+		rollback();
+	}
+
+	private boolean isParentOf(MemoryTransaction child) {
+		for (MemoryTransaction t = child; t != null; t = t.parent) if (t == this) return true;
+		return false;
+	}
+
+	private record MemorySavepoint(MemoryTransaction owner, int position) implements Savepoint {
+	}
+}
@@ -0,0 +1,21 @@
+package io.github.nahkd123.tableschema.query;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.schema.Field;
+
+/**
+ * <p>
+ * Assign a new value to a field in set-based update.
+ * </p>
+ *
+ * @param <R>   Type of table row.
+ * @param <T>   Type of field.
+ * @param field The field to assign.
+ * @param value The new value of field.
+ * @see Table#update(Filter, java.util.List)
+ */
+public record Assignment<R, T>(Field<R, T> field, T value) {
+	public static <R, T> Assignment<R, T> set(Field<R, T> field, T value) {
+		return new Assignment<>(field, value);
+	}
+}
@@ -1,5 +1,8 @@
 package io.github.nahkd123.tableschema.query;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import io.github.nahkd123.tableschema.schema.Field;
@@ -8,8 +11,8 @@ import io.github.nahkd123.tableschema.schema.Field;
  * <p>
  * Filtering out entries based on certain criteria. Includes basic boolean
  * operations ({@code AND}, {@code OR} and {@code NOT}) and value comparison
- * (==, &gt;, &ge;, &lt; and &le;). Only {@code ==} can be used with
- * non-numerical types.
+ * (==, &gt;, &ge;, &lt; and &le;). Non-numerical types are compared with the
+ * same ordering that table uses for sorting them.
  * </p>
  * 
  * @param <R> Type of table row.
@@ -23,6 +26,8 @@ import io.github.nahkd123.tableschema.schema.Field;
  * @see #lq(Field, Object)
  * @see #gt(Field, Object)
  * @see #gq(Field, Object)
+ * @see #in(Field, Collection)
+ * @see #isNull(Field)
  */
 public interface Filter<R> {
 	/**
@@ -141,6 +146,38 @@ public interface Filter<R> {
 		return new Compare<R, T>(field, Compare.GREATER_EQUALS, value);
 	}
 
+	/**
+	 * <p>
+	 * Check if value of field is equals to one of the values. This works for all
+	 * known types.
+	 * </p>
+	 * 
+	 * @param <R>    Type of table row.
+	 * @param <T>    Type of value.
+	 * @param field  The field in table.
+	 * @param values The values to compare against.
+	 * @return A new filter.
+	 */
+	static <R, T> Filter<R> in(Field<R, T> field, Collection<T> values) {
+		return new In<R, T>(field, Collections.unmodifiableList(new ArrayList<>(values)));
+	}
+
+	/**
+	 * <p>
+	 * Check if value of field is {@code null}. Comparisons never accept
+	 * {@code null} values, so this is the only filter that does. Use
+	 * {@link #not(Filter)} to check if value is not {@code null}.
+	 * </p>
+	 * 
+	 * @param <R>   Type of table row.
+	 * @param <T>   Type of value.
+	 * @param field The field in table.
+	 * @return A new filter.
+	 */
+	static <R, T> Filter<R> isNull(Field<R, T> field) {
+		return new IsNull<R, T>(field);
+	}
+
 	/**
 	 * <p>
 	 * Concatenate this filter and another filter with AND operator.
@@ -190,6 +227,12 @@ public interface Filter<R> {
 	record Not<R>(Filter<R> child) implements Filter<R> {
 	}
 
+	record In<R, T>(Field<R, T> field, List<T> values) implements Filter<R> {
+	}
+
+	record IsNull<R, T>(Field<R, T> field) implements Filter<R> {
+	}
+
 	record Compare<R, T>(Field<R, T> field, int flags, T value) implements Filter<R> {
 		public static final int EQUALS = 1;
 		public static final int GREATER = 2;
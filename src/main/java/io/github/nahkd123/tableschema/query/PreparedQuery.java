@@ -0,0 +1,237 @@
+package io.github.nahkd123.tableschema.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.schema.Field;
+
+/**
+ * <p>
+ * A query that is compiled once and can be executed many times with different
+ * values. Each comparison in the filter template becomes a bind slot, in the
+ * same order as they appear in the template. {@link Filter.In} becomes one
+ * slot for each value, so the number of values is fixed. Values in the template are
+ * ignored, so it is fine to use {@code null} as placeholder.
+ * </p>
+ * <p>
+ * Prepared queries are immutable and can be executed from multiple threads, as
+ * long as the table itself can be used from multiple threads.
+ * </p>
+ *
+ * <pre>
+ * PreparedQuery&lt;Task&gt; byProject = tasks.prepare(Filter.eq(Task.PROJECTID, null), statusOrdering);
+ * Slot&lt;Task, UUID&gt; projectId = byProject.slot(Task.PROJECTID);
+ *
+ * try (QueryResult&lt;Task&gt; result = byProject.bind().set(projectId, project.id()).execute()) {
+ * 	// ...
+ * }
+ * </pre>
+ *
+ * @param <R> Type of table row.
+ * @see Table#prepare(Filter, SortBy)
+ */
+public interface PreparedQuery<R> {
+	/**
+	 * <p>
+	 * Get all bind slots of this query, in the order they appear in filter
+	 * template.
+	 * </p>
+	 *
+	 * @return A list of slots.
+	 */
+	List<Slot<R, ?>> slots();
+
+	/**
+	 * <p>
+	 * Execute this query with values for all slots.
+	 * </p>
+	 *
+	 * @param values Values for each slot, in the same order as {@link #slots()}.
+	 * @return Query result.
+	 */
+	QueryResult<R> execute(Object[] values);
+
+	/**
+	 * <p>
+	 * Get the first slot that compares against specified field.
+	 * </p>
+	 *
+	 * @param <T>   Type of value.
+	 * @param field The field in table.
+	 * @return The slot.
+	 * @throws IllegalArgumentException if there are no slots for the field.
+	 */
+	@SuppressWarnings("unchecked")
+	default <T> Slot<R, T> slot(Field<R, T> field) {
+		for (Slot<R, ?> slot : slots()) if (slot.field().equals(field)) return (Slot<R, T>) slot;
+		throw new IllegalArgumentException("No slot for field '%s'".formatted(field.label()));
+	}
+
+	/**
+	 * <p>
+	 * Start binding values to slots. Slots that are not bound will use
+	 * {@code null}.
+	 * </p>
+	 *
+	 * @return A new binding.
+	 */
+	default Binding<R> bind() {
+		return new Binding<>(this);
+	}
+
+	/**
+	 * <p>
+	 * Execute this query with a single bound slot.
+	 * </p>
+	 *
+	 * @param <T>   Type of value.
+	 * @param slot  The slot.
+	 * @param value The value to bind to slot.
+	 * @return Query result.
+	 */
+	default <T> QueryResult<R> execute(Slot<R, T> slot, T value) {
+		return bind().set(slot, value).execute();
+	}
+
+	/**
+	 * <p>
+	 * Create a prepared query that simply fill values in filter template and
+	 * forward it to {@link Table#query(Filter, SortBy)}. Implementations of
+	 * {@link Table} should provide a better version if they can.
+	 * </p>
+	 *
+	 * @param <R>      Type of table row.
+	 * @param table    The table to query.
+	 * @param template The filter template.
+	 * @param ordering Ordering of queried rows.
+	 * @return A new prepared query.
+	 */
+	static <R> PreparedQuery<R> of(Table<?, R> table, Filter<R> template, SortBy<R> ordering) {
+		List<Slot<R, ?>> slots = slotsOf(template);
+		return new PreparedQuery<R>() {
+			@Override
+			public List<Slot<R, ?>> slots() {
+				return slots;
+			}
+
+			@Override
+			public QueryResult<R> execute(Object[] values) {
+				checkValues(slots, values);
+				return table.query(template != null ? substitute(template, values) : null, ordering);
+			}
+		};
+	}
+
+	/**
+	 * <p>
+	 * Get all bind slots from filter template.
+	 * </p>
+	 *
+	 * @param <R>      Type of table row.
+	 * @param template The filter template, or {@code null}.
+	 * @return A list of slots.
+	 */
+	static <R> List<Slot<R, ?>> slotsOf(Filter<R> template) {
+		List<Slot<R, ?>> slots = new ArrayList<>();
+		if (template != null) collectSlots(template, slots);
+		return Collections.unmodifiableList(slots);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <R> void collectSlots(Filter<R> filter, List<Slot<R, ?>> slots) {
+		switch (filter) {
+		case Filter.Compare(Field field, int op, Object value) -> slots.add(new Slot(slots.size(), field));
+		case Filter.In(Field field, List values) -> values.forEach(value -> slots.add(new Slot(slots.size(), field)));
+		case Filter.IsNull(Field field) -> {}
+		case Filter.Not(Filter child) -> collectSlots(child, slots);
+		case Filter.And(List children) -> children.forEach(child -> collectSlots((Filter<R>) child, slots));
+		case Filter.Or(List children) -> children.forEach(child -> collectSlots((Filter<R>) child, slots));
+		default -> throw new IllegalArgumentException("Unexpected value: " + filter);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Replace values in filter template with values for slots.
+	 * </p>
+	 *
+	 * @param <R>      Type of table row.
+	 * @param template The filter template.
+	 * @param values   Values for each slot.
+	 * @return A new filter with values from slots.
+	 */
+	static <R> Filter<R> substitute(Filter<R> template, Object[] values) {
+		return substitute(template, values, new int[] { 0 });
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <R> Filter<R> substitute(Filter<R> filter, Object[] values, int[] next) {
+		return switch (filter) {
+		case Filter.Compare(Field field, int op, Object value) -> new Filter.Compare(field, op, values[next[0]++]);
+		case Filter.In(Field field, List list) -> new Filter.In(field, Arrays.asList(
+			Arrays.copyOfRange(values, next[0], next[0] += list.size())));
+		case Filter.IsNull(Field field) -> filter;
+		case Filter.Not(Filter child) -> new Filter.Not<>(substitute(child, values, next));
+		case Filter.And(List children) -> new Filter.And<>(((List<Filter<R>>) children).stream()
+			.map(child -> substitute(child, values, next))
+			.toList());
+		case Filter.Or(List children) -> new Filter.Or<>(((List<Filter<R>>) children).stream()
+			.map(child -> substitute(child, values, next))
+			.toList());
+		default -> throw new IllegalArgumentException("Unexpected value: " + filter);
+		};
+	}
+
+	/**
+	 * <p>
+	 * Ensure the number of values matches the number of slots.
+	 * </p>
+	 */
+	static void checkValues(List<? extends Slot<?, ?>> slots, Object[] values) {
+		if (values.length != slots.size()) throw new IllegalArgumentException("Expected %d values but got %d"
+			.formatted(slots.size(), values.length));
+	}
+
+	/**
+	 * <p>
+	 * A bind slot in prepared query.
+	 * </p>
+	 *
+	 * @param <R>   Type of table row.
+	 * @param <T>   Type of value.
+	 * @param index Index of slot.
+	 * @param field The field being compared against.
+	 */
+	record Slot<R, T>(int index, Field<R, T> field) {
+	}
+
+	/**
+	 * <p>
+	 * Values for all slots of prepared query. Binding is not thread-safe, but
+	 * multiple bindings can be created from the same prepared query.
+	 * </p>
+	 *
+	 * @param <R> Type of table row.
+	 */
+	final class Binding<R> {
+		private PreparedQuery<R> query;
+		private Object[] values;
+
+		private Binding(PreparedQuery<R> query) {
+			this.query = query;
+			this.values = new Object[query.slots().size()];
+		}
+
+		public <T> Binding<R> set(Slot<R, T> slot, T value) {
+			values[slot.index()] = value;
+			return this;
+		}
+
+		public QueryResult<R> execute() {
+			return query.execute(values);
+		}
+	}
+}
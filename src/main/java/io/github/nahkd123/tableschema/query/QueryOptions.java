@@ -0,0 +1,83 @@
+package io.github.nahkd123.tableschema.query;
+
+/**
+ * <p>
+ * Options for controlling how rows are fetched from table. Query results are
+ * always read-only cursors that can only move forward.
+ * </p>
+ * <p>
+ * For large scans, use a positive fetch size so the rows are streamed in
+ * batches instead of being loaded entirely before the first row is returned.
+ * Some drivers (like PostgreSQL) only stream rows when the query is executed
+ * inside a transaction.
+ * </p>
+ * <p>
+ * Limit and offset are applied by the table itself (with {@code LIMIT} and
+ * {@code OFFSET} in SQL for example), while max rows is only a hint for the
+ * driver. Large offsets still make the table skip all rows before the offset;
+ * use {@link io.github.nahkd123.tableschema.Table#queryAfter(Filter, SortBy, Object, int)}
+ * for paging through large tables.
+ * </p>
+ * <p>
+ * With a positive prefetch, rows are read and decoded on a background thread
+ * while the current rows are being processed, which helps when both the
+ * database and the processing are slow. The background thread keeps using the
+ * connection of query result until it is closed, so queries inside a
+ * transaction, databases backed by a single connection and tables that keep
+ * rows in memory ignore this option.
+ * </p>
+ *
+ * @param fetchSize Number of rows to fetch from database each time the cursor
+ *                  runs out of rows. Use {@code 0} for driver's default.
+ * @param maxRows   Maximum number of rows to return. Use {@code 0} for no
+ *                  limit.
+ * @param limit     Maximum number of rows to select. Use {@code 0} for no
+ *                  limit.
+ * @param offset    Number of rows to skip before selecting.
+ * @param prefetch  Maximum number of rows to read ahead on a background
+ *                  thread. Use {@code 0} to read rows only when they are
+ *                  requested.
+ * @see #DEFAULT
+ */
+public record QueryOptions(int fetchSize, int maxRows, int limit, long offset, int prefetch) {
+	public static final QueryOptions DEFAULT = new QueryOptions(0, 0, 0, 0, 0);
+
+	public QueryOptions {
+		if (fetchSize < 0) throw new IllegalArgumentException("Fetch size must not be negative");
+		if (maxRows < 0) throw new IllegalArgumentException("Max rows must not be negative");
+		if (limit < 0) throw new IllegalArgumentException("Limit must not be negative");
+		if (offset < 0) throw new IllegalArgumentException("Offset must not be negative");
+		if (prefetch < 0) throw new IllegalArgumentException("Prefetch must not be negative");
+	}
+
+	public QueryOptions withFetchSize(int fetchSize) {
+		return new QueryOptions(fetchSize, maxRows, limit, offset, prefetch);
+	}
+
+	public QueryOptions withMaxRows(int maxRows) {
+		return new QueryOptions(fetchSize, maxRows, limit, offset, prefetch);
+	}
+
+	public QueryOptions withLimit(int limit) {
+		return new QueryOptions(fetchSize, maxRows, limit, offset, prefetch);
+	}
+
+	public QueryOptions withOffset(long offset) {
+		return new QueryOptions(fetchSize, maxRows, limit, offset, prefetch);
+	}
+
+	public QueryOptions withPrefetch(int prefetch) {
+		return new QueryOptions(fetchSize, maxRows, limit, offset, prefetch);
+	}
+
+	/**
+	 * <p>
+	 * Check whether this options only select a page of rows.
+	 * </p>
+	 * 
+	 * @return Whether limit or offset is specified.
+	 */
+	public boolean paged() {
+		return limit > 0 || offset > 0;
+	}
+}
@@ -4,6 +4,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>
@@ -60,9 +65,90 @@ public interface QueryResult<T> extends Iterable<T>, AutoCloseable {
 		return result;
 	}
 
+	/**
+	 * <p>
+	 * Stream leftover rows. Closing the stream will close this query result, and
+	 * this query result is also closed once all rows are consumed. Streams that
+	 * are not fully consumed should be used in try-with-resources block.
+	 * </p>
+	 * 
+	 * <pre>
+	 * try (Stream&lt;Task&gt; stream = tasks.query(null, null).stream()) {
+	 * 	stream.filter(task -&gt; task.name().startsWith("A")).findFirst();
+	 * }
+	 * </pre>
+	 * 
+	 * @return A stream of rows.
+	 */
+	default Stream<T> stream() {
+		Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator(),
+			Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(this::close);
+	}
+
+	/**
+	 * <p>
+	 * Map each row of this query result. Rows that are mapped to {@code null} are
+	 * skipped, since {@code null} marks the end of query result. Closing the
+	 * mapped result will close this query result.
+	 * </p>
+	 * 
+	 * @param <U>    Type of mapped object.
+	 * @param mapper The function to map each row.
+	 * @return A new query result.
+	 */
+	default <U> QueryResult<U> map(Function<? super T, ? extends U> mapper) {
+		QueryResult<T> source = this;
+		return new QueryResult<U>() {
+			@Override
+			public U nextRow() {
+				T row;
+
+				while ((row = source.nextRow()) != null) {
+					U mapped = mapper.apply(row);
+					if (mapped != null) return mapped;
+				}
+
+				return null;
+			}
+
+			@Override
+			public void close() {
+				source.close();
+			}
+		};
+	}
+
 	@Override
 	void close();
 
+	/**
+	 * <p>
+	 * Create a query result over rows that are already loaded. Closing the result
+	 * does nothing besides ending it.
+	 * </p>
+	 * 
+	 * @param <T>  Type of row.
+	 * @param rows The rows. Must not contain {@code null}.
+	 * @return A new query result.
+	 */
+	static <T> QueryResult<T> of(List<T> rows) {
+		Iterator<T> iterator = rows.iterator();
+		return new QueryResult<T>() {
+			private boolean closed = false;
+
+			@Override
+			public T nextRow() {
+				return !closed && iterator.hasNext() ? iterator.next() : null;
+			}
+
+			@Override
+			public void close() {
+				closed = true;
+			}
+		};
+	}
+
 	@Override
 	default Iterator<T> iterator() {
 		return new QueryResultIterator<>(this);
@@ -4,6 +4,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import io.github.nahkd123.tableschema.schema.type.FieldType;
 
@@ -30,4 +33,91 @@ public record Field<R, T>(FieldType<T> type, String label, Function<R, T> getter
 		constraints.add(constraint);
 		return withConstraints(Collections.unmodifiableList(constraints));
 	}
+
+	/**
+	 * <p>
+	 * Create a new {@link FieldType#INT} field with primitive getter. Tables may
+	 * use the primitive getter to write values without boxing them. Rows read
+	 * from tables are still created from boxed values, since
+	 * {@link Schema.Factory} takes values as objects.
+	 * </p>
+	 * 
+	 * @param <R>    Type of table row.
+	 * @param label  The label of field.
+	 * @param getter The primitive getter.
+	 * @return A new field.
+	 */
+	public static <R> Field<R, Integer> ofInt(String label, ToIntFunction<R> getter) {
+		return new Field<>(FieldType.INT, label, new IntGetter<>(getter));
+	}
+
+	/**
+	 * <p>
+	 * Create a new {@link FieldType#LONG} field with primitive getter. Tables may
+	 * use the primitive getter to write values without boxing them. Rows read
+	 * from tables are still created from boxed values, since
+	 * {@link Schema.Factory} takes values as objects.
+	 * </p>
+	 * 
+	 * @param <R>    Type of table row.
+	 * @param label  The label of field.
+	 * @param getter The primitive getter.
+	 * @return A new field.
+	 */
+	public static <R> Field<R, Long> ofLong(String label, ToLongFunction<R> getter) {
+		return new Field<>(FieldType.LONG, label, new LongGetter<>(getter));
+	}
+
+	/**
+	 * <p>
+	 * Create a new {@link FieldType#DOUBLE} field with primitive getter. Tables
+	 * may use the primitive getter to write values without boxing them. Rows read
+	 * from tables are still created from boxed values, since
+	 * {@link Schema.Factory} takes values as objects.
+	 * </p>
+	 * 
+	 * @param <R>    Type of table row.
+	 * @param label  The label of field.
+	 * @param getter The primitive getter.
+	 * @return A new field.
+	 */
+	public static <R> Field<R, Double> ofDouble(String label, ToDoubleFunction<R> getter) {
+		return new Field<>(FieldType.DOUBLE, label, new DoubleGetter<>(getter));
+	}
+
+	public record IntGetter<R>(ToIntFunction<R> getter) implements Function<R, Integer>, ToIntFunction<R> {
+		@Override
+		public Integer apply(R row) {
+			return getter.applyAsInt(row);
+		}
+
+		@Override
+		public int applyAsInt(R row) {
+			return getter.applyAsInt(row);
+		}
+	}
+
+	public record LongGetter<R>(ToLongFunction<R> getter) implements Function<R, Long>, ToLongFunction<R> {
+		@Override
+		public Long apply(R row) {
+			return getter.applyAsLong(row);
+		}
+
+		@Override
+		public long applyAsLong(R row) {
+			return getter.applyAsLong(row);
+		}
+	}
+
+	public record DoubleGetter<R>(ToDoubleFunction<R> getter) implements Function<R, Double>, ToDoubleFunction<R> {
+		@Override
+		public Double apply(R row) {
+			return getter.applyAsDouble(row);
+		}
+
+		@Override
+		public double applyAsDouble(R row) {
+			return getter.applyAsDouble(row);
+		}
+	}
 }
@@ -0,0 +1,193 @@
+package io.github.nahkd123.tableschema.schema;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Factory that creates records with their canonical constructor. Records with
+ * up to 8 components are created by a class spun with
+ * {@link LambdaMetafactory}, which calls the constructor directly, so the JIT
+ * can inline it like a hand-written factory. Larger records (or records whose
+ * lookup can't define such class) use a method handle instead.
+ * </p>
+ * <p>
+ * Creating a record does not allocate anything except the record itself.
+ * </p>
+ *
+ * @param <K> Type of key.
+ * @param <R> Type of record.
+ * @see Schema#ofRecord(Class, Field, Field...)
+ */
+class RecordFactory<K, R extends Record> implements Schema.ArrayFactory<K, R> {
+	// Spun classes are defined in the record's class, so these must be public
+	public static interface Constructor1 {
+		Object create(Object a);
+	}
+
+	public static interface Constructor2 {
+		Object create(Object a, Object b);
+	}
+
+	public static interface Constructor3 {
+		Object create(Object a, Object b, Object c);
+	}
+
+	public static interface Constructor4 {
+		Object create(Object a, Object b, Object c, Object d);
+	}
+
+	public static interface Constructor5 {
+		Object create(Object a, Object b, Object c, Object d, Object e);
+	}
+
+	public static interface Constructor6 {
+		Object create(Object a, Object b, Object c, Object d, Object e, Object f);
+	}
+
+	public static interface Constructor7 {
+		Object create(Object a, Object b, Object c, Object d, Object e, Object f, Object g);
+	}
+
+	public static interface Constructor8 {
+		Object create(Object a, Object b, Object c, Object d, Object e, Object f, Object g, Object h);
+	}
+
+	private static final Class<?>[] CONSTRUCTORS = {
+		Constructor1.class, Constructor2.class, Constructor3.class, Constructor4.class,
+		Constructor5.class, Constructor6.class, Constructor7.class, Constructor8.class
+	};
+
+	private final int[] reorder;
+	private final Object constructor;
+	private final MethodHandle handle;
+
+	public RecordFactory(MethodHandles.Lookup lookup, Class<R> type, Field<R, K> primaryKey, List<Field<R, ?>> fields) {
+		if (!type.isRecord()) throw new IllegalArgumentException("%s is not a record".formatted(type.getName()));
+		RecordComponent[] components = type.getRecordComponents();
+
+		if (components.length != fields.size() + 1) throw new IllegalArgumentException(
+			"Record %s has %d components but schema has %d fields"
+				.formatted(type.getName(), components.length, fields.size() + 1));
+
+		// Position of each constructor parameter in (key, fields...)
+		Class<?>[] parameterTypes = new Class<?>[components.length];
+		int[] reorder = new int[components.length];
+
+		for (int i = 0; i < components.length; i++) {
+			String label = components[i].getName();
+			parameterTypes[i] = components[i].getType();
+
+			if (label.equals(primaryKey.label())) {
+				reorder[i] = 0;
+				continue;
+			}
+
+			reorder[i] = -1;
+			for (int j = 0; j < fields.size(); j++) if (fields.get(j).label().equals(label)) reorder[i] = j + 1;
+			if (reorder[i] == -1) throw new IllegalArgumentException("No field for record component '%s'".formatted(label));
+		}
+
+		this.reorder = reorder;
+
+		try {
+			MethodHandle handle = lookup.findConstructor(type, MethodType.methodType(void.class, parameterTypes));
+			Object constructor = spin(lookup, handle);
+			this.constructor = constructor;
+			this.handle = constructor == null ? spread(handle, fields.size()) : null;
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new IllegalArgumentException("Can't access canonical constructor of %s".formatted(type.getName()), e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Spin a class that implements one of {@code ConstructorN} by calling the
+	 * constructor.
+	 * </p>
+	 *
+	 * @return The constructor object, or {@code null} if it can't be spun.
+	 */
+	private static Object spin(MethodHandles.Lookup lookup, MethodHandle handle) {
+		int arity = handle.type().parameterCount();
+		if (arity > CONSTRUCTORS.length) return null;
+
+		try {
+			CallSite site = LambdaMetafactory.metafactory(lookup, "create",
+				MethodType.methodType(CONSTRUCTORS[arity - 1]), MethodType.genericMethodType(arity),
+				handle, handle.type().wrap());
+			return site.getTarget().invoke();
+		} catch (LambdaConversionException | IllegalArgumentException e) {
+			// Lookup doesn't have full privilege access, so the method handle is used instead
+			return null;
+		} catch (Throwable e) {
+			throw new RuntimeException("Error while creating record factory", e);
+		}
+	}
+
+	private MethodHandle spread(MethodHandle handle, int fields) {
+		Class<?>[] objects = new Class<?>[reorder.length];
+		Arrays.fill(objects, Object.class);
+		handle = handle.asType(MethodType.methodType(Object.class, objects));
+		handle = MethodHandles.permuteArguments(handle, MethodType.methodType(Object.class, objects), reorder);
+		return handle.asSpreader(Object[].class, fields);
+	}
+
+	private Object arg(int index, K key, Object[] fields) {
+		int from = reorder[index];
+		return from == 0 ? key : fields[from - 1];
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public R create(K key, Object[] fields) {
+		return (R) switch (reorder.length) {
+		case 1 -> constructor instanceof Constructor1 c
+			? c.create(arg(0, key, fields))
+			: invoke(key, fields);
+		case 2 -> constructor instanceof Constructor2 c
+			? c.create(arg(0, key, fields), arg(1, key, fields))
+			: invoke(key, fields);
+		case 3 -> constructor instanceof Constructor3 c
+			? c.create(arg(0, key, fields), arg(1, key, fields), arg(2, key, fields))
+			: invoke(key, fields);
+		case 4 -> constructor instanceof Constructor4 c
+			? c.create(arg(0, key, fields), arg(1, key, fields), arg(2, key, fields), arg(3, key, fields))
+			: invoke(key, fields);
+		case 5 -> constructor instanceof Constructor5 c
+			? c.create(arg(0, key, fields), arg(1, key, fields), arg(2, key, fields), arg(3, key, fields),
+				arg(4, key, fields))
+			: invoke(key, fields);
+		case 6 -> constructor instanceof Constructor6 c
+			? c.create(arg(0, key, fields), arg(1, key, fields), arg(2, key, fields), arg(3, key, fields),
+				arg(4, key, fields), arg(5, key, fields))
+			: invoke(key, fields);
+		case 7 -> constructor instanceof Constructor7 c
+			? c.create(arg(0, key, fields), arg(1, key, fields), arg(2, key, fields), arg(3, key, fields),
+				arg(4, key, fields), arg(5, key, fields), arg(6, key, fields))
+			: invoke(key, fields);
+		case 8 -> constructor instanceof Constructor8 c
+			? c.create(arg(0, key, fields), arg(1, key, fields), arg(2, key, fields), arg(3, key, fields),
+				arg(4, key, fields), arg(5, key, fields), arg(6, key, fields), arg(7, key, fields))
+			: invoke(key, fields);
+		default -> invoke(key, fields);
+		};
+	}
+
+	private Object invoke(K key, Object[] fields) {
+		try {
+			return handle.invokeExact((Object) key, fields);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException("Error while creating record", e);
+		}
+	}
+}
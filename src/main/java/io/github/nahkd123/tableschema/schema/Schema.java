@@ -1,5 +1,7 @@
 package io.github.nahkd123.tableschema.schema;
 
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -15,6 +17,7 @@ import java.util.NoSuchElementException;
  * @param <R> Type of object.
  * @see #of(Field, Factory)
  * @see #of(Field, Field, Factory1F)
+ * @see #ofRecord(Class, Field, Field...)
  */
 public record Schema<K, R>(Field<R, K> primaryKey, List<Field<R, ?>> fields, Factory<K, R> factory, List<Index<R>> indexes, int version) {
 	public Schema(Field<R, K> primaryKey, List<Field<R, ?>> fields, Factory<K, R> factory) {
@@ -52,73 +55,168 @@ public record Schema<K, R>(Field<R, K> primaryKey, List<Field<R, ?>> fields, Fac
 		 * </p>
 		 * 
 		 * @param key    The primary key of object.
-		 * @param fields A list of field values that aren't primary key.
+		 * @param fields A list of field values that aren't primary key. The list
+		 *               may be reused for the next object, so it must not be
+		 *               stored anywhere.
 		 * @return A new object.
 		 */
 		R create(K key, List<?> fields);
 	}
 
+	/**
+	 * <p>
+	 * Factory that takes field values directly from an array, so tables don't
+	 * have to wrap the values in a list.
+	 * </p>
+	 */
+	@FunctionalInterface
+	public static interface ArrayFactory<K, R> extends Factory<K, R> {
+		/**
+		 * <p>
+		 * Create a new object.
+		 * </p>
+		 * 
+		 * @param key    The primary key of object.
+		 * @param fields An array of field values that aren't primary key. The array
+		 *               may be reused for the next object, so it must not be
+		 *               stored anywhere.
+		 * @return A new object.
+		 */
+		R create(K key, Object[] fields);
+
+		@Override
+		default R create(K key, List<?> fields) {
+			return create(key, fields.toArray());
+		}
+	}
+
+	/**
+	 * <p>
+	 * Derive schema from a record class. Each record component must have exactly
+	 * one field with the same label, and the record is created with its canonical
+	 * constructor. There is no limit on the number of fields.
+	 * </p>
+	 * 
+	 * <pre>
+	 * record Task(UUID id, UUID projectId, String name, Status status) {
+	 * 	static final Field&lt;Task, UUID&gt; ID = ...;
+	 * 	// ...
+	 * 	static final Schema&lt;UUID, Task&gt; SCHEMA = Schema.ofRecord(Task.class, ID, PROJECTID, NAME, STATUS);
+	 * }
+	 * </pre>
+	 * 
+	 * @param <K>        Type of key.
+	 * @param <R>        Type of record.
+	 * @param type       The record class.
+	 * @param primaryKey The field for primary key.
+	 * @param fields     The fields that aren't primary key.
+	 * @return A new schema.
+	 * @throws IllegalArgumentException if fields don't match record components,
+	 *                                  or the canonical constructor can't be
+	 *                                  accessed.
+	 */
+	@SafeVarargs
+	public static <K, R extends Record> Schema<K, R> ofRecord(Class<R> type, Field<R, K> primaryKey, Field<R, ?>... fields) {
+		// Copying fields one by one doesn't let the varargs array escape
+		List<Field<R, ?>> list = new ArrayList<>(fields.length);
+		for (Field<R, ?> field : fields) list.add(field);
+
+		try {
+			return ofRecord(MethodHandles.privateLookupIn(type, MethodHandles.lookup()), type, primaryKey, list);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Can't access record %s".formatted(type.getName()), e);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Derive schema from a record class, using the lookup to access the canonical
+	 * constructor. Use this if the record is in a module that is not opened to
+	 * TableSchema.
+	 * </p>
+	 * 
+	 * @param <K>        Type of key.
+	 * @param <R>        Type of record.
+	 * @param lookup     The lookup that can access canonical constructor.
+	 * @param type       The record class.
+	 * @param primaryKey The field for primary key.
+	 * @param fields     The fields that aren't primary key.
+	 * @return A new schema.
+	 * @see #ofRecord(Class, Field, Field...)
+	 */
+	@SafeVarargs
+	public static <K, R extends Record> Schema<K, R> ofRecord(MethodHandles.Lookup lookup, Class<R> type, Field<R, K> primaryKey, Field<R, ?>... fields) {
+		List<Field<R, ?>> list = new ArrayList<>(fields.length);
+		for (Field<R, ?> field : fields) list.add(field);
+		return ofRecord(lookup, type, primaryKey, list);
+	}
+
+	private static <K, R extends Record> Schema<K, R> ofRecord(MethodHandles.Lookup lookup, Class<R> type, Field<R, K> primaryKey, List<Field<R, ?>> fields) {
+		fields = Collections.unmodifiableList(fields);
+		return new Schema<>(primaryKey, fields, new RecordFactory<>(lookup, type, primaryKey, fields));
+	}
+
 	public static <K, R> Schema<K, R> of(Field<R, K> k, Factory<K, R> factory) {
 		return new Schema<>(k, Collections.emptyList(), factory);
 	}
 
 	@SuppressWarnings("unchecked")
 	public static <K, F1, R> Schema<K, R> of(Field<R, K> k, Field<R, F1> f1, Factory1F<K, F1, R> factory) {
-		return new Schema<>(k, List.of(f1), (key, fields) -> {
-			return factory.create(key, (F1) fields.get(0));
+		return new Schema<>(k, List.of(f1), (ArrayFactory<K, R>) (key, fields) -> {
+			return factory.create(key, (F1) fields[0]);
 		});
 	}
 
 	@SuppressWarnings("unchecked")
 	public static <K, F1, F2, R> Schema<K, R> of(Field<R, K> k, Field<R, F1> f1, Field<R, F2> f2, Factory2F<K, F1, F2, R> factory) {
-		return new Schema<>(k, List.of(f1, f2), (key, fields) -> {
-			return factory.create(key, (F1) fields.get(0), (F2) fields.get(1));
+		return new Schema<>(k, List.of(f1, f2), (ArrayFactory<K, R>) (key, fields) -> {
+			return factory.create(key, (F1) fields[0], (F2) fields[1]);
 		});
 	}
 
 	@SuppressWarnings("unchecked")
 	public static <K, F1, F2, F3, R> Schema<K, R> of(Field<R, K> k, Field<R, F1> f1, Field<R, F2> f2, Field<R, F3> f3, Factory3F<K, F1, F2, F3, R> factory) {
-		return new Schema<>(k, List.of(f1, f2, f3), (key, fields) -> {
-			return factory.create(key, (F1) fields.get(0), (F2) fields.get(1), (F3) fields.get(2));
+		return new Schema<>(k, List.of(f1, f2, f3), (ArrayFactory<K, R>) (key, fields) -> {
+			return factory.create(key, (F1) fields[0], (F2) fields[1], (F3) fields[2]);
 		});
 	}
 
 	@SuppressWarnings("unchecked")
 	public static <K, F1, F2, F3, F4, R> Schema<K, R> of(Field<R, K> k, Field<R, F1> f1, Field<R, F2> f2, Field<R, F3> f3, Field<R, F4> f4, Factory4F<K, F1, F2, F3, F4, R> factory) {
-		return new Schema<>(k, List.of(f1, f2, f3, f4), (key, fields) -> {
-			return factory.create(key, (F1) fields.get(0), (F2) fields.get(1), (F3) fields.get(2), (F4) fields.get(3));
+		return new Schema<>(k, List.of(f1, f2, f3, f4), (ArrayFactory<K, R>) (key, fields) -> {
+			return factory.create(key, (F1) fields[0], (F2) fields[1], (F3) fields[2], (F4) fields[3]);
 		});
 	}
 
 	@SuppressWarnings("unchecked")
 	public static <K, F1, F2, F3, F4, F5, R> Schema<K, R> of(Field<R, K> k, Field<R, F1> f1, Field<R, F2> f2, Field<R, F3> f3, Field<R, F4> f4, Field<R, F5> f5, Factory5F<K, F1, F2, F3, F4, F5, R> factory) {
-		return new Schema<>(k, List.of(f1, f2, f3, f4, f5), (key, fields) -> {
-			return factory.create(key, (F1) fields.get(0), (F2) fields.get(1), (F3) fields.get(2), (F4) fields.get(3),
-				(F5) fields.get(4));
+		return new Schema<>(k, List.of(f1, f2, f3, f4, f5), (ArrayFactory<K, R>) (key, fields) -> {
+			return factory.create(key, (F1) fields[0], (F2) fields[1], (F3) fields[2], (F4) fields[3],
+				(F5) fields[4]);
 		});
 	}
 
 	@SuppressWarnings("unchecked")
 	public static <K, F1, F2, F3, F4, F5, F6, R> Schema<K, R> of(Field<R, K> k, Field<R, F1> f1, Field<R, F2> f2, Field<R, F3> f3, Field<R, F4> f4, Field<R, F5> f5, Field<R, F6> f6, Factory6F<K, F1, F2, F3, F4, F5, F6, R> factory) {
-		return new Schema<>(k, List.of(f1, f2, f3, f4, f5, f6), (key, fields) -> {
-			return factory.create(key, (F1) fields.get(0), (F2) fields.get(1), (F3) fields.get(2), (F4) fields.get(3),
-				(F5) fields.get(4), (F6) fields.get(5));
+		return new Schema<>(k, List.of(f1, f2, f3, f4, f5, f6), (ArrayFactory<K, R>) (key, fields) -> {
+			return factory.create(key, (F1) fields[0], (F2) fields[1], (F3) fields[2], (F4) fields[3],
+				(F5) fields[4], (F6) fields[5]);
 		});
 	}
 
 	@SuppressWarnings("unchecked")
 	public static <K, F1, F2, F3, F4, F5, F6, F7, R> Schema<K, R> of(Field<R, K> k, Field<R, F1> f1, Field<R, F2> f2, Field<R, F3> f3, Field<R, F4> f4, Field<R, F5> f5, Field<R, F6> f6, Field<R, F7> f7, Factory7F<K, F1, F2, F3, F4, F5, F6, F7, R> factory) {
-		return new Schema<>(k, List.of(f1, f2, f3, f4, f5, f6, f7), (key, fields) -> {
-			return factory.create(key, (F1) fields.get(0), (F2) fields.get(1), (F3) fields.get(2), (F4) fields.get(3),
-				(F5) fields.get(4), (F6) fields.get(5), (F7) fields.get(6));
+		return new Schema<>(k, List.of(f1, f2, f3, f4, f5, f6, f7), (ArrayFactory<K, R>) (key, fields) -> {
+			return factory.create(key, (F1) fields[0], (F2) fields[1], (F3) fields[2], (F4) fields[3],
+				(F5) fields[4], (F6) fields[5], (F7) fields[6]);
 		});
 	}
 
 	@SuppressWarnings("unchecked")
 	public static <K, F1, F2, F3, F4, F5, F6, F7, F8, R> Schema<K, R> of(Field<R, K> k, Field<R, F1> f1, Field<R, F2> f2, Field<R, F3> f3, Field<R, F4> f4, Field<R, F5> f5, Field<R, F6> f6, Field<R, F7> f7, Field<R, F8> f8, Factory8F<K, F1, F2, F3, F4, F5, F6, F7, F8, R> factory) {
-		return new Schema<>(k, List.of(f1, f2, f3, f4, f5, f6, f7, f8), (key, fields) -> {
-			return factory.create(key, (F1) fields.get(0), (F2) fields.get(1), (F3) fields.get(2), (F4) fields.get(3),
-				(F5) fields.get(4), (F6) fields.get(5), (F7) fields.get(6), (F8) fields.get(7));
+		return new Schema<>(k, List.of(f1, f2, f3, f4, f5, f6, f7, f8), (ArrayFactory<K, R>) (key, fields) -> {
+			return factory.create(key, (F1) fields[0], (F2) fields[1], (F3) fields[2], (F4) fields[3],
+				(F5) fields[4], (F6) fields[5], (F7) fields[6], (F8) fields[7]);
 		});
 	}
 
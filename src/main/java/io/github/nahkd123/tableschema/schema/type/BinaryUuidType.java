@@ -0,0 +1,17 @@
+package io.github.nahkd123.tableschema.schema.type;
+
+import java.util.UUID;
+
+/**
+ * <p>
+ * UUID stored as 16 bytes, instead of 36 characters like {@link FieldType#UUID}.
+ * </p>
+ *
+ * @see FieldType#BINARY_UUID
+ */
+public record BinaryUuidType() implements FieldType<UUID> {
+	@Override
+	public FieldType<?> root() {
+		return this;
+	}
+}
@@ -0,0 +1,40 @@
+package io.github.nahkd123.tableschema.schema.type;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>
+ * Enum-like values stored as small integer codes. Codes should be stable, so
+ * adding or reordering values doesn't change meaning of stored rows.
+ * </p>
+ *
+ * @param <T>      Type of value.
+ * @param values   All possible values.
+ * @param code     Derive code from value. Codes must be unique and between
+ *                 {@code 0} and {@link Short#MAX_VALUE}.
+ * @param deriveId Derive string ID from value, which is used for migrating
+ *                 from {@link FieldType#ofEnum(Object[], Function)}.
+ * @see FieldType#ofEnumCode(Object[], ToIntFunction, Function)
+ */
+public record EnumCodeType<T>(List<T> values, ToIntFunction<T> code, Function<T, String> deriveId) implements FieldType<T> {
+	public EnumCodeType {
+		values = List.copyOf(values);
+		Set<Integer> codes = new HashSet<>();
+
+		for (T value : values) {
+			int c = code.applyAsInt(value);
+			if (c < 0 || c > Short.MAX_VALUE) throw new IllegalArgumentException("Code %d of %s is out of range"
+				.formatted(c, value));
+			if (!codes.add(c)) throw new IllegalArgumentException("Duplicated code %d".formatted(c));
+		}
+	}
+
+	@Override
+	public FieldType<?> root() {
+		return this;
+	}
+}
@@ -1,9 +1,11 @@
 package io.github.nahkd123.tableschema.schema.type;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 public interface FieldType<T> {
 	/**
@@ -45,6 +47,44 @@ public interface FieldType<T> {
 		return ofEnum(values, e -> e.toString());
 	}
 
+	/**
+	 * <p>
+	 * Store enum-like values as small integer codes. Values are decoded by array
+	 * index, and columns created with {@link #ofEnum(Object[], Function)} are
+	 * converted when the table is migrated to this type.
+	 * </p>
+	 * 
+	 * @param <T>      Type of value.
+	 * @param values   All possible values.
+	 * @param code     Derive stable code from value. Codes must be unique and
+	 *                 between {@code 0} and {@link Short#MAX_VALUE}.
+	 * @param deriveId Derive string ID from value, the same one that was used in
+	 *                 {@link #ofEnum(Object[], Function)}.
+	 * @return A new field type.
+	 */
+	static <T> FieldType<T> ofEnumCode(T[] values, ToIntFunction<T> code, Function<T, String> deriveId) {
+		return new EnumCodeType<>(List.of(values), code, deriveId);
+	}
+
+	static <T> FieldType<T> ofEnumCode(T[] values, ToIntFunction<T> code) {
+		return ofEnumCode(values, code, e -> e.toString());
+	}
+
+	/**
+	 * <p>
+	 * Store enum constants as their ordinal. Ordinals change when constants are
+	 * reordered, so use {@link #ofEnumCode(Object[], ToIntFunction)} with explicit
+	 * codes if the order is not final.
+	 * </p>
+	 * 
+	 * @param <T>    Type of enum.
+	 * @param values All enum constants, usually from {@code values()}.
+	 * @return A new field type.
+	 */
+	static <T extends Enum<T>> FieldType<T> ofEnumCode(T[] values) {
+		return ofEnumCode(values, Enum::ordinal);
+	}
+
 	FieldType<Byte> BYTE = new IdentityType<>(byte.class);
 	FieldType<Short> SHORT = new IdentityType<>(short.class);
 	FieldType<Integer> INT = new IdentityType<>(int.class);
@@ -53,4 +93,13 @@ public interface FieldType<T> {
 	FieldType<Double> DOUBLE = new IdentityType<>(double.class);
 	FieldType<String> BIGTEXT = new IdentityType<>(String.class);
 	FieldType<UUID> UUID = fixedString(36).map(java.util.UUID::fromString, java.util.UUID::toString);
+	/**
+	 * <p>
+	 * UUID stored as 16 bytes. Existing {@link #UUID} columns are converted when
+	 * the table is migrated to this type. Decoding text UUIDs is not portable SQL
+	 * (SQLite only has {@code unhex()} since 3.41), so rows of such tables are
+	 * copied through Java during migration, which works with any database.
+	 * </p>
+	 */
+	FieldType<UUID> BINARY_UUID = new BinaryUuidType();
 }
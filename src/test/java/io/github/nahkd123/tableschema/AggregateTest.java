@@ -0,0 +1,66 @@
+package io.github.nahkd123.tableschema;
+
+import static io.github.nahkd123.tableschema.ProjectionTest.filled;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.github.nahkd123.tableschema.ProjectionTest.Row;
+import io.github.nahkd123.tableschema.query.Filter;
+
+class AggregateTest {
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void groupByCountsNullGroup(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			Map<String, Long> expected = new HashMap<>();
+			expected.put("a", 2L);
+			expected.put("b", 1L);
+			expected.put(null, 1L);
+			assertEquals(expected, table.groupBy(Row.NAME, null));
+			assertEquals(Map.of("a", 2L), table.groupBy(Row.NAME, Filter.eq(Row.NAME, "a")));
+			assertEquals(Map.of(), table.groupBy(Row.NAME, Filter.eq(Row.NAME, "c")));
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void aggregatesIgnoreNullValues(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			assertEquals(4, table.count(null));
+			assertEquals(1, table.count(Filter.isNull(Row.NAME)));
+			assertEquals(5, table.min(Row.SCORE, null));
+			assertEquals(10, table.max(Row.SCORE, null));
+			assertEquals(22L, table.sum(Row.SCORE, null));
+			assertEquals("a", table.min(Row.NAME, null));
+			assertEquals("b", table.max(Row.NAME, null));
+			assertNull(table.min(Row.NAME, Filter.eq(Row.ID, 3)));
+			assertNull(table.max(Row.NAME, Filter.eq(Row.ID, 3)));
+			assertNull(table.min(Row.SCORE, Filter.eq(Row.ID, 2)));
+			assertEquals(0L, table.sum(Row.SCORE, Filter.eq(Row.ID, 2)));
+			assertEquals(0L, table.sum(Row.SCORE, Filter.eq(Row.ID, 9)));
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void defaultAggregatesMatchTable(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			Table<Integer, Row> plain = new PlainTable<>(table);
+			assertEquals(table.queryField(Row.NAME, null).asList(), plain.queryField(Row.NAME, null).asList());
+			assertEquals(table.count(null), plain.count(null));
+			assertEquals(table.min(Row.SCORE, null), plain.min(Row.SCORE, null));
+			assertEquals(table.max(Row.SCORE, null), plain.max(Row.SCORE, null));
+			assertEquals(table.sum(Row.SCORE, null), plain.sum(Row.SCORE, null));
+			assertEquals(table.groupBy(Row.NAME, null), plain.groupBy(Row.NAME, null));
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package io.github.nahkd123.tableschema;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.stream.Stream;
+
+import io.github.nahkd123.tableschema.jdbc.JdbcDatabase;
+import io.github.nahkd123.tableschema.memory.MemoryDatabase;
+
+/**
+ * <p>
+ * Every database backend, for tests that must behave the same on all of them.
+ * Use {@code @MethodSource(Databases.ALL)} on parameterized tests.
+ * </p>
+ */
+final class Databases {
+	static final String ALL = "io.github.nahkd123.tableschema.Databases#all";
+
+	private Databases() {
+	}
+
+	static Stream<Database> all() throws SQLException {
+		return Stream.of(new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:")), new MemoryDatabase());
+	}
+}
@@ -0,0 +1,64 @@
+package io.github.nahkd123.tableschema;
+
+import java.util.Collection;
+import java.util.List;
+
+import io.github.nahkd123.tableschema.query.Assignment;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.QueryResult;
+import io.github.nahkd123.tableschema.query.SortBy;
+import io.github.nahkd123.tableschema.schema.Field;
+
+/**
+ * <p>
+ * Table that only implements the abstract methods, so everything else uses
+ * the default implementations.
+ * </p>
+ */
+class PlainTable<K, R> implements Table<K, R> {
+	private Table<K, R> table;
+
+	public PlainTable(Table<K, R> table) {
+		this.table = table;
+	}
+
+	@Override
+	public MigrationReport migrate(boolean backup) {
+		return table.migrate(backup);
+	}
+
+	@Override
+	public void drop() {
+		table.drop();
+	}
+
+	@Override
+	public Field<R, K> primaryKey() {
+		return table.primaryKey();
+	}
+
+	@Override
+	public int insert(Collection<R> values) {
+		return table.insert(values);
+	}
+
+	@Override
+	public QueryResult<R> query(Filter<R> filter, SortBy<R> ordering) {
+		return table.query(filter, ordering);
+	}
+
+	@Override
+	public int update(Collection<R> values) {
+		return table.update(values);
+	}
+
+	@Override
+	public int update(Filter<R> filter, List<Assignment<R, ?>> assignments) {
+		return table.update(filter, assignments);
+	}
+
+	@Override
+	public int delete(Filter<R> filter) {
+		return table.delete(filter);
+	}
+}
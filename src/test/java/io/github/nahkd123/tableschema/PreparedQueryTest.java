@@ -0,0 +1,134 @@
+package io.github.nahkd123.tableschema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.github.nahkd123.tableschema.jdbc.JdbcDatabase;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.PreparedQuery;
+import io.github.nahkd123.tableschema.query.PreparedQuery.Slot;
+import io.github.nahkd123.tableschema.query.SortBy;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class PreparedQueryTest {
+	record Row(int id, String name, int score) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Field<Row, Integer> SCORE = new Field<>(FieldType.INT, "score", Row::score);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, SCORE, Row::new).withVersion(0);
+	}
+
+	private static final List<Row> ROWS = List.of(new Row(1, "a", 1), new Row(2, "a", 5), new Row(3, "b", 5),
+		new Row(4, "a", 9));
+
+	private JdbcDatabase db;
+
+	@BeforeEach
+	void open() throws SQLException {
+		db = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"));
+	}
+
+	@AfterEach
+	void close() {
+		db.close();
+	}
+
+	// Plain tables use PreparedQuery.of, which substitutes values into template
+	private Table<Integer, Row> filled(boolean plain) {
+		Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+		table.migrate(false);
+		table.insert(ROWS);
+		return plain ? new PlainTable<>(table) : table;
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	void bindsSlotsByField(boolean plain) {
+		Table<Integer, Row> table = filled(plain);
+		PreparedQuery<Row> query = table.prepare(Filter.eq(Row.NAME, null).and(Filter.gq(Row.SCORE, null)),
+			new SortBy<>(Row.SCORE, SortOrder.DESCENDING));
+		Slot<Row, String> name = query.slot(Row.NAME);
+		Slot<Row, Integer> score = query.slot(Row.SCORE);
+		assertEquals(List.of(name, score), query.slots());
+
+		assertEquals(List.of(new Row(4, "a", 9), new Row(2, "a", 5)),
+			query.bind().set(name, "a").set(score, 5).execute().asList());
+		assertEquals(List.of(new Row(3, "b", 5)), query.bind().set(score, 0).set(name, "b").execute().asList());
+		assertThrows(IllegalArgumentException.class, () -> query.slot(Row.ID));
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	void expandsInToSlotForEachValue(boolean plain) {
+		Table<Integer, Row> table = filled(plain);
+		PreparedQuery<Row> query = table.prepare(Filter.in(Row.ID, Arrays.asList(null, null, null)),
+			new SortBy<>(Row.ID, SortOrder.ASCENDING));
+		assertEquals(List.of(0, 1, 2), query.slots().stream().map(Slot::index).toList());
+		assertEquals(List.of(Row.ID, Row.ID, Row.ID), query.slots().stream().map(Slot::field).toList());
+		assertEquals(List.of(new Row(1, "a", 1), new Row(4, "a", 9)), query.execute(new Object[] { 4, 1, 7 }).asList());
+
+		// Ad-hoc queries with the same number of values use their own statement
+		assertEquals(List.of(2, 3), table.query(Filter.in(Row.ID, List.of(3, 2, 8)), new SortBy<>(Row.ID, SortOrder.ASCENDING))
+			.asList().stream().map(Row::id).toList());
+		assertEquals(List.of(new Row(3, "b", 5)), query.execute(new Object[] { 3, 3, 3 }).asList());
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	void rejectsWrongNumberOfValues(boolean plain) {
+		Table<Integer, Row> table = filled(plain);
+		PreparedQuery<Row> query = table.prepare(Filter.eq(Row.NAME, null).and(Filter.gq(Row.SCORE, null)), null);
+		assertThrows(IllegalArgumentException.class, () -> query.execute(new Object[] { "a" }));
+		assertThrows(IllegalArgumentException.class, () -> query.execute(new Object[] { "a", 1, 2 }));
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { false, true })
+	void nullTemplateAcceptsAllRows(boolean plain) {
+		Table<Integer, Row> table = filled(plain);
+		PreparedQuery<Row> query = table.prepare(null, null);
+		assertEquals(List.of(), query.slots());
+		assertEquals(ROWS, query.bind().execute().asList());
+	}
+
+	@Test
+	void reusesStatementBetweenExecutions() {
+		Table<Integer, Row> table = filled(false);
+		PreparedQuery<Row> query = table.prepare(Filter.eq(Row.ID, null), null);
+		Slot<Row, Integer> id = query.slot(Row.ID);
+		assertEquals(List.of(ROWS.get(0)), query.execute(id, 1).asList());
+		long misses = db.statementCacheStats().misses();
+		long hits = db.statementCacheStats().hits();
+
+		for (Row row : ROWS) assertEquals(List.of(row), query.execute(id, row.id()).asList());
+		assertEquals(misses, db.statementCacheStats().misses());
+		assertEquals(hits + ROWS.size(), db.statementCacheStats().hits());
+	}
+
+	@Test
+	void substitutesValuesInTemplate() {
+		Filter<Row> template = Filter.eq(Row.NAME, null)
+			.and(Filter.in(Row.ID, Arrays.asList(null, null)))
+			.and(Filter.not(Filter.isNull(Row.NAME)))
+			.or(Filter.lt(Row.SCORE, null));
+		Filter<Row> expected = Filter.eq(Row.NAME, "a")
+			.and(Filter.in(Row.ID, List.of(1, 2)))
+			.and(Filter.not(Filter.isNull(Row.NAME)))
+			.or(Filter.lt(Row.SCORE, 3));
+		assertEquals(4, PreparedQuery.slotsOf(template).size());
+		assertEquals(expected, PreparedQuery.substitute(template, new Object[] { "a", 1, 2, 3 }));
+	}
+}
@@ -0,0 +1,56 @@
+package io.github.nahkd123.tableschema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+
+class PrimitiveFieldTest {
+	record Row(long id, int count, double ratio) {
+		static final Field<Row, Long> ID = Field.ofLong("id", Row::id);
+		static final Field<Row, Integer> COUNT = Field.ofInt("count", Row::count);
+		static final Field<Row, Double> RATIO = Field.ofDouble("ratio", Row::ratio);
+		static final Schema<Long, Row> SCHEMA = Schema.of(ID, COUNT, RATIO, Row::new).withVersion(0);
+	}
+
+	private static final List<Row> ROWS = List.of(
+		new Row(Long.MIN_VALUE, Integer.MIN_VALUE, -Double.MAX_VALUE),
+		new Row(0L, 0, -0.5),
+		new Row(1L << 40, 42, 1e-300),
+		new Row(Long.MAX_VALUE, Integer.MAX_VALUE, Double.MAX_VALUE));
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void roundTripsPrimitiveValues(Database db) {
+		try (db) {
+			Table<Long, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			assertEquals(ROWS.size(), table.insert(ROWS));
+			assertEquals(ROWS, table.query(null, null).asList());
+			assertEquals(ROWS.get(2), table.query(1L << 40).first());
+			assertEquals(List.of(ROWS.get(3)), table.query(Filter.eq(Row.COUNT, Integer.MAX_VALUE), null).asList());
+			assertEquals(List.of(ROWS.get(1)), table.query(Filter.eq(Row.RATIO, -0.5), null).asList());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void updatesAndUpsertsPrimitiveValues(Database db) {
+		try (db) {
+			Table<Long, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			table.insert(ROWS);
+			assertEquals(true, table.update(new Row(0L, -1, 0.25)));
+			assertEquals(new Row(0L, -1, 0.25), table.query(0L).first());
+			assertEquals(2, table.upsert(List.of(new Row(0L, 7, 7.5), new Row(-7L, -7, -7.5))));
+			assertEquals(new Row(0L, 7, 7.5), table.query(0L).first());
+			assertEquals(new Row(-7L, -7, -7.5), table.query(-7L).first());
+		}
+	}
+}
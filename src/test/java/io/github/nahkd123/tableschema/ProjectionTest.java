@@ -0,0 +1,65 @@
+package io.github.nahkd123.tableschema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class ProjectionTest {
+	record Row(int id, String name, Integer score) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Field<Row, Integer> SCORE = new Field<>(FieldType.INT, "score", Row::score);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, SCORE, Row::new).withVersion(0);
+	}
+
+	// Shared with AggregateTest
+	static Table<Integer, Row> filled(Database db) {
+		Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+		table.migrate(false);
+		table.insert(List.of(new Row(1, "a", 10), new Row(2, "b", null), new Row(3, null, 5), new Row(4, "a", 7)));
+		return table;
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void projectionsSkipNullValues(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			assertEquals(List.of("a", "b", "a"), table.queryField(Row.NAME, null).asList());
+			assertEquals(List.of(10, 5, 7), table.queryField(Row.SCORE, null).asList());
+			assertEquals(List.of(1, 2, 3, 4), table.queryKeys(null).asList());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void projectionsApplyFilter(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			assertEquals(List.of(1, 4), table.queryKeys(Filter.eq(Row.NAME, "a")).asList());
+			assertEquals(List.of(10, 7), table.queryField(Row.SCORE, Filter.eq(Row.NAME, "a")).asList());
+			assertEquals(List.of(), table.queryField(Row.NAME, Filter.isNull(Row.NAME)).asList());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void defaultProjectionsMatchTable(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			Table<Integer, Row> plain = new PlainTable<>(table);
+			assertEquals(table.queryField(Row.NAME, null).asList(), plain.queryField(Row.NAME, null).asList());
+			assertEquals(table.queryField(Row.SCORE, Filter.eq(Row.NAME, "a")).asList(),
+				plain.queryField(Row.SCORE, Filter.eq(Row.NAME, "a")).asList());
+			assertEquals(table.queryKeys(null).asList(), plain.queryKeys(null).asList());
+		}
+	}
+}
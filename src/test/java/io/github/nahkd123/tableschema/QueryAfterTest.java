@@ -0,0 +1,79 @@
+package io.github.nahkd123.tableschema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.SortBy;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class QueryAfterTest {
+	record Row(int id, String name) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, Row::new).withVersion(0);
+	}
+
+	private static List<Row> pages(Table<Integer, Row> table, Filter<Row> filter, SortBy<Row> ordering, int limit) {
+		List<Row> rows = new ArrayList<>();
+		List<Row> page = table.queryAfter(filter, ordering, null, limit).asList();
+
+		while (!page.isEmpty()) {
+			rows.addAll(page);
+			page = table.queryAfter(filter, ordering, page.getLast(), limit).asList();
+		}
+
+		return rows;
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void pagesThroughNullSortValues(Database db) {
+		try (db) {
+			Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			table.insert(List.of(new Row(1, "a"), new Row(2, "b"), new Row(3, null), new Row(4, null), new Row(5, "a")));
+
+			for (SortOrder order : SortOrder.values()) {
+				SortBy<Row> ordering = new SortBy<>(Row.NAME, order);
+				List<Row> expected = table.query(null, ordering).asList();
+				assertEquals(5, expected.size());
+
+				for (int limit = 1; limit <= 3; limit++)
+					assertEquals(expected, pages(table, null, ordering, limit), order + " with page size " + limit);
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void nullsComeFirstInAscendingOrder(Database db) {
+		try (db) {
+			Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			table.insert(List.of(new Row(1, "a"), new Row(2, "b"), new Row(3, null)));
+			List<Row> rows = pages(table, null, new SortBy<>(Row.NAME, SortOrder.ASCENDING), 1);
+			assertEquals(List.of(3, 1, 2), rows.stream().map(Row::id).toList());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void pagesByPrimaryKeyWithFilter(Database db) {
+		try (db) {
+			Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			table.insert(List.of(new Row(1, "a"), new Row(2, "b"), new Row(3, null), new Row(4, "a")));
+			List<Row> rows = pages(table, Filter.eq(Row.NAME, "a"), null, 1);
+			assertEquals(List.of(1, 4), rows.stream().map(Row::id).toList());
+			assertEquals(List.of(3), pages(table, Filter.isNull(Row.NAME), null, 1).stream().map(Row::id).toList());
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package io.github.nahkd123.tableschema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.github.nahkd123.tableschema.query.Assignment;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class SetUpdateTest {
+	record Row(int id, String name, int score) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Field<Row, Integer> SCORE = new Field<>(FieldType.INT, "score", Row::score);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, SCORE, Row::new).withVersion(0);
+	}
+
+	private static Table<Integer, Row> filled(Database db) {
+		Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+		table.migrate(false);
+		table.insert(List.of(new Row(1, "a", 1), new Row(2, "a", 5), new Row(3, "b", 5), new Row(4, "a", 9)));
+		return table;
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void assignsMultipleColumns(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+
+			// Filter parameters are bound after the assigned values
+			int count = table.update(Filter.eq(Row.NAME, "a").and(Filter.gt(Row.SCORE, 2)), List.of(
+				Assignment.set(Row.NAME, "x"),
+				Assignment.set(Row.SCORE, 0)));
+
+			assertEquals(2, count);
+			assertEquals(List.of(new Row(1, "a", 1), new Row(2, "x", 0), new Row(3, "b", 5), new Row(4, "x", 0)),
+				table.query(null, null).asList());
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void assignsSingleColumnToAllRows(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			assertEquals(4, table.update(null, Row.SCORE, 7));
+			assertEquals(28L, table.sum(Row.SCORE, null));
+			assertEquals(0, table.update(Filter.eq(Row.NAME, "none"), Row.SCORE, 1));
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void assignsPrimaryKey(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			assertEquals(1, table.update(Filter.eq(Row.ID, 3), List.of(Assignment.set(Row.ID, 30), Assignment.set(Row.SCORE, 6))));
+			assertNull(table.query(3).first());
+			assertEquals(new Row(30, "b", 6), table.query(30).first());
+			assertEquals(4, table.count(null));
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void rejectsEmptyAssignments(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			assertThrows(IllegalArgumentException.class, () -> table.update(null, List.of()));
+		}
+	}
+}
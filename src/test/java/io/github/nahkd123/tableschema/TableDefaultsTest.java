@@ -0,0 +1,69 @@
+package io.github.nahkd123.tableschema;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.jdbc.JdbcDatabase;
+import io.github.nahkd123.tableschema.query.QueryOptions;
+import io.github.nahkd123.tableschema.query.SortBy;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class TableDefaultsTest {
+	record Row(int id, String name) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, Row::new).withVersion(0);
+	}
+
+	private JdbcDatabase db;
+	private Table<Integer, Row> table;
+
+	@BeforeEach
+	void open() throws SQLException {
+		db = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"));
+		Table<Integer, Row> backing = db.table("rows", Row.SCHEMA);
+		backing.migrate(false);
+		backing.insert(List.of(new Row(1, "a"), new Row(2, "b"), new Row(3, "c"), new Row(4, "d")));
+		table = new PlainTable<>(backing);
+	}
+
+	@AfterEach
+	void close() {
+		db.close();
+	}
+
+	@Test
+	void queryAppliesOffsetAndLimit() {
+		SortBy<Row> ordering = new SortBy<>(Row.ID, SortOrder.ASCENDING);
+		assertEquals(List.of(new Row(2, "b"), new Row(3, "c")),
+			table.query(null, ordering, QueryOptions.DEFAULT.withOffset(1).withLimit(2)).asList());
+		assertEquals(List.of(new Row(1, "a")),
+			table.query(null, ordering, QueryOptions.DEFAULT.withLimit(3).withMaxRows(1)).asList());
+		assertEquals(List.of(), table.query(null, ordering, QueryOptions.DEFAULT.withOffset(10)).asList());
+		assertEquals(4, table.query(null, ordering, QueryOptions.DEFAULT).asList().size());
+	}
+
+	@Test
+	void updateEachUpdatesRowsOneByOne() {
+		assertArrayEquals(new boolean[] { true, false, true },
+			table.updateEach(List.of(new Row(1, "x"), new Row(9, "y"), new Row(3, "z"))));
+		assertEquals(List.of(new Row(1, "x"), new Row(2, "b"), new Row(3, "z"), new Row(4, "d")),
+			table.query(null, null).asList());
+	}
+
+	@Test
+	void queryAfterUsesDefaultOptions() {
+		List<Row> page = table.queryAfter(null, null, new Row(2, "b"), 1).asList();
+		assertEquals(List.of(new Row(3, "c")), page);
+	}
+}
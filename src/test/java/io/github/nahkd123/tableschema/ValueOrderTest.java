@@ -0,0 +1,105 @@
+package io.github.nahkd123.tableschema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.query.SortBy;
+import io.github.nahkd123.tableschema.schema.Constraint;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class ValueOrderTest {
+	enum Status {
+		WAITING,
+		DONE,
+		FAILED;
+
+		int code() {
+			return 2 - ordinal();
+		}
+	}
+
+	record Row(int id, UUID ref, UUID binaryRef, Status status, Status code) {
+		static final Field<Row, Integer> ID = Field.ofInt("id", Row::id);
+		static final Field<Row, UUID> REF = new Field<>(FieldType.UUID, "ref", Row::ref).with(Constraint.unique());
+		static final Field<Row, UUID> BINARYREF = new Field<>(FieldType.BINARY_UUID, "binaryRef", Row::binaryRef)
+			.with(Constraint.unique());
+		static final Field<Row, Status> STATUS = new Field<>(FieldType.ofEnum(Status.values()), "status", Row::status);
+		static final Field<Row, Status> CODE = new Field<>(FieldType.ofEnumCode(Status.values(), Status::code), "code",
+			Row::code);
+		static final Schema<Integer, Row> SCHEMA = Schema.ofRecord(Row.class, ID, REF, BINARYREF, STATUS, CODE)
+			.withVersion(0);
+	}
+
+	// Signed order of these UUIDs is 4, 3, 1, 2
+	private static final UUID[] UUIDS = {
+		new UUID(1L, 0L),
+		new UUID(Long.MAX_VALUE, 0L),
+		new UUID(-1L, 0L),
+		new UUID(Long.MIN_VALUE, 5L)
+	};
+
+	private static Table<Integer, Row> filled(Database db) {
+		Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+		table.migrate(false);
+		table.insert(List.of(
+			new Row(1, UUIDS[0], UUIDS[0], Status.WAITING, Status.WAITING),
+			new Row(2, UUIDS[1], UUIDS[1], Status.DONE, Status.DONE),
+			new Row(3, UUIDS[2], UUIDS[2], Status.FAILED, Status.FAILED),
+			new Row(4, UUIDS[3], UUIDS[3], Status.DONE, Status.DONE)));
+		return table;
+	}
+
+	private static List<Integer> ids(Table<Integer, Row> table, Filter<Row> filter, Field<Row, ?> field, SortOrder order) {
+		return table.query(filter, new SortBy<>(field, order)).asList().stream().map(Row::id).toList();
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void textUuidsAreOrderedByText(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			assertEquals(List.of(1, 2, 4, 3), ids(table, null, Row.REF, SortOrder.ASCENDING));
+			assertEquals(List.of(3, 4, 2, 1), ids(table, null, Row.REF, SortOrder.DESCENDING));
+			assertEquals(List.of(4, 3), ids(table, Filter.gt(Row.REF, UUIDS[1]), Row.REF, SortOrder.ASCENDING));
+			assertEquals(List.of(1, 2), ids(table, Filter.lt(Row.REF, UUIDS[3]), Row.REF, SortOrder.ASCENDING));
+			assertEquals(UUIDS[0], table.min(Row.REF, null));
+			assertEquals(UUIDS[2], table.max(Row.REF, null));
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void binaryUuidsAreOrderedByUnsignedBytes(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+			assertEquals(List.of(1, 2, 4, 3), ids(table, null, Row.BINARYREF, SortOrder.ASCENDING));
+			assertEquals(List.of(4, 3), ids(table, Filter.gt(Row.BINARYREF, UUIDS[1]), Row.BINARYREF, SortOrder.ASCENDING));
+			assertEquals(UUIDS[0], table.min(Row.BINARYREF, null));
+			assertEquals(UUIDS[2], table.max(Row.BINARYREF, null));
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource(Databases.ALL)
+	void enumsAreOrderedByStoredValue(Database db) {
+		try (db) {
+			Table<Integer, Row> table = filled(db);
+
+			// DONE < FAILED < WAITING by text, FAILED < DONE < WAITING by code
+			assertEquals(List.of(2, 4, 3, 1), ids(table, null, Row.STATUS, SortOrder.ASCENDING));
+			assertEquals(List.of(3, 2, 4, 1), ids(table, null, Row.CODE, SortOrder.ASCENDING));
+			assertEquals(List.of(3, 1), ids(table, Filter.gt(Row.STATUS, Status.DONE), Row.STATUS, SortOrder.ASCENDING));
+			assertEquals(List.of(3), ids(table, Filter.lt(Row.CODE, Status.DONE), Row.CODE, SortOrder.ASCENDING));
+			assertEquals(Status.WAITING, table.max(Row.STATUS, null));
+			assertEquals(Status.FAILED, table.min(Row.CODE, null));
+		}
+	}
+}
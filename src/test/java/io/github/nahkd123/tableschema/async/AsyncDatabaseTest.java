@@ -0,0 +1,96 @@
+package io.github.nahkd123.tableschema.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.jdbc.JdbcDatabase;
+import io.github.nahkd123.tableschema.memory.MemoryDatabase;
+
+class AsyncDatabaseTest {
+	@Test
+	void runsAtMostMaxConcurrencyOperations() throws Exception {
+		try (AsyncDatabase db = new AsyncDatabase(new MemoryDatabase(), 2)) {
+			AtomicInteger running = new AtomicInteger();
+			AtomicInteger peak = new AtomicInteger();
+			List<CompletableFuture<Integer>> futures = IntStream.range(0, 8).mapToObj(i -> db.submit(() -> {
+				peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				} finally {
+					running.decrementAndGet();
+				}
+
+				return i;
+			})).toList();
+
+			for (int i = 0; i < futures.size(); i++) assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS));
+			assertTrue(peak.get() <= 2);
+		}
+	}
+
+	@Test
+	void skipsOperationCancelledBeforeStart() throws Exception {
+		try (AsyncDatabase db = new AsyncDatabase(new MemoryDatabase(), 1)) {
+			CountDownLatch started = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			CompletableFuture<Boolean> blocker = db.submit(() -> {
+				started.countDown();
+
+				try {
+					return release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			});
+
+			// The only slot is taken, so this operation is still waiting
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			AtomicBoolean ran = new AtomicBoolean(false);
+			CompletableFuture<Boolean> cancelled = db.submit(() -> ran.getAndSet(true));
+			cancelled.cancel(false);
+
+			release.countDown();
+			assertTrue(blocker.get(5, TimeUnit.SECONDS));
+			assertEquals(1, db.submit(() -> 1).get(5, TimeUnit.SECONDS));
+			assertFalse(ran.get());
+		}
+	}
+
+	@Test
+	void rejectsConcurrencyAboveSingleConnection() throws SQLException {
+		try (JdbcDatabase database = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"))) {
+			assertEquals(1, database.maxConcurrency());
+			assertThrows(IllegalArgumentException.class, () -> new AsyncDatabase(database, Runnable::run, 2));
+			new AsyncDatabase(database, Runnable::run, 1);
+		}
+	}
+
+	@Test
+	void restoresInterruptWhileWaiting() {
+		try (AsyncDatabase db = new AsyncDatabase(new MemoryDatabase(), Runnable::run, 1)) {
+			Thread.currentThread().interrupt();
+			CompletableFuture<Integer> future = db.submit(() -> 1);
+			assertTrue(Thread.interrupted());
+			ExecutionException e = assertThrows(ExecutionException.class, future::get);
+			assertTrue(e.getCause() instanceof InterruptedException);
+		}
+	}
+}
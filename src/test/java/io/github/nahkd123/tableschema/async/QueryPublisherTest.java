@@ -0,0 +1,203 @@
+package io.github.nahkd123.tableschema.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.memory.MemoryDatabase;
+import io.github.nahkd123.tableschema.query.QueryResult;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class QueryPublisherTest {
+	record Row(int id, String name) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, Row::new).withVersion(0);
+	}
+
+	private static final List<Integer> ROWS = IntStream.rangeClosed(1, 10).boxed().toList();
+
+	/**
+	 * <p>
+	 * Query result that counts rows read from it and whether it is closed.
+	 * </p>
+	 */
+	private static class CountingResult implements QueryResult<Integer> {
+		private QueryResult<Integer> rows = QueryResult.of(ROWS);
+		private int read = 0;
+		private boolean closed = false;
+
+		@Override
+		public Integer nextRow() {
+			Integer row = rows.nextRow();
+			if (row != null) read++;
+			return row;
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+
+	private static class Recorder<T> implements Flow.Subscriber<T> {
+		private Consumer<Flow.Subscription> onSubscribe;
+		private Flow.Subscription subscription;
+		private List<T> rows = new ArrayList<>();
+		private Throwable error = null;
+		private int errors = 0;
+		private boolean completed = false;
+
+		public Recorder(Consumer<Flow.Subscription> onSubscribe) {
+			this.onSubscribe = onSubscribe;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			onSubscribe.accept(subscription);
+		}
+
+		@Override
+		public void onNext(T item) {
+			rows.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			errors++;
+		}
+
+		@Override
+		public void onComplete() {
+			completed = true;
+		}
+	}
+
+	// Publish on the requesting thread, so signals are observed right away
+	private static final Executor DIRECT = Runnable::run;
+
+	@Test
+	void publishesOnlyRequestedRows() {
+		CountingResult result = new CountingResult();
+		Recorder<Integer> subscriber = new Recorder<>(s -> s.request(3));
+		new QueryPublisher<>(() -> result, DIRECT).subscribe(subscriber);
+		assertEquals(List.of(1, 2, 3), subscriber.rows);
+		assertEquals(3, result.read);
+
+		subscriber.subscription.request(2);
+		assertEquals(List.of(1, 2, 3, 4, 5), subscriber.rows);
+		assertEquals(5, result.read);
+		assertTrue(!subscriber.completed && !result.closed);
+
+		subscriber.subscription.request(Long.MAX_VALUE);
+		subscriber.subscription.request(Long.MAX_VALUE);
+		assertEquals(ROWS, subscriber.rows);
+		assertTrue(subscriber.completed && result.closed);
+		assertNull(subscriber.error);
+	}
+
+	@Test
+	void cancelClosesResult() {
+		CountingResult result = new CountingResult();
+		Recorder<Integer> subscriber = new Recorder<>(s -> s.request(2));
+		new QueryPublisher<>(() -> result, DIRECT).subscribe(subscriber);
+		subscriber.subscription.cancel();
+		assertTrue(result.closed);
+
+		subscriber.subscription.request(5);
+		assertEquals(List.of(1, 2), subscriber.rows);
+		assertTrue(!subscriber.completed && subscriber.error == null);
+	}
+
+	@Test
+	void rejectsNonPositiveRequest() {
+		CountingResult result = new CountingResult();
+		Recorder<Integer> subscriber = new Recorder<>(s -> s.request(1));
+		new QueryPublisher<>(() -> result, DIRECT).subscribe(subscriber);
+		subscriber.subscription.request(0);
+		assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+		assertTrue(result.closed);
+		assertEquals(List.of(1), subscriber.rows);
+	}
+
+	@Test
+	void throwingSubscriberIsCancelledQuietly() {
+		CountingResult result = new CountingResult();
+		Recorder<Integer> subscriber = new Recorder<>(s -> s.request(5)) {
+			@Override
+			public void onNext(Integer item) {
+				super.onNext(item);
+				if (item == 2) throw new IllegalStateException("Broken subscriber");
+			}
+		};
+
+		new QueryPublisher<>(() -> result, DIRECT).subscribe(subscriber);
+		assertEquals(List.of(1, 2), subscriber.rows);
+		assertTrue(result.closed);
+		assertNull(subscriber.error);
+		assertTrue(!subscriber.completed);
+	}
+
+	@Test
+	void rejectedExecutionIsSignalled() {
+		AtomicInteger opened = new AtomicInteger();
+		Recorder<Integer> subscriber = new Recorder<>(s -> s.request(1));
+		new QueryPublisher<>(() -> {
+			opened.incrementAndGet();
+			return new CountingResult();
+		}, task -> {
+			throw new RejectedExecutionException("Shut down");
+		}).subscribe(subscriber);
+
+		assertInstanceOf(RejectedExecutionException.class, subscriber.error);
+		assertEquals(0, opened.get());
+		subscriber.subscription.request(1);
+		assertEquals(1, subscriber.errors);
+	}
+
+	@Test
+	void cancelReleasesDatabaseSlot() throws Exception {
+		try (AsyncDatabase db = new AsyncDatabase(new MemoryDatabase(), 1)) {
+			Table<Integer, Row> rows = db.database().table("rows", Row.SCHEMA);
+			rows.migrate(false);
+			rows.insert(ROWS.stream().map(i -> new Row(i, "row " + i)).toList());
+			AsyncTable<Integer, Row> table = db.table(rows);
+
+			CountDownLatch received = new CountDownLatch(1);
+			Recorder<Row> subscriber = new Recorder<>(s -> s.request(1)) {
+				@Override
+				public void onNext(Row item) {
+					super.onNext(item);
+					received.countDown();
+				}
+			};
+
+			table.publish(null, null).subscribe(subscriber);
+			assertTrue(received.await(5, TimeUnit.SECONDS));
+
+			// Open result takes the only slot until the subscription is cancelled
+			subscriber.subscription.cancel();
+			assertEquals(10L, table.count(null).get(5, TimeUnit.SECONDS));
+			assertEquals(List.of(new Row(1, "row 1")), subscriber.rows);
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package io.github.nahkd123.tableschema.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.Transaction;
+import io.github.nahkd123.tableschema.jdbc.JdbcConnectionPool;
+import io.github.nahkd123.tableschema.jdbc.JdbcDatabase;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class CachingTableTest {
+	record Row(int id, String name) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, Row::new).withVersion(0);
+	}
+
+	@TempDir
+	Path dir;
+
+	private JdbcDatabase db;
+	private CachingTable<Integer, Row> table;
+
+	@BeforeEach
+	void open() {
+		db = new JdbcDatabase(new JdbcConnectionPool(
+			() -> DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("test.db")),
+			2, Duration.ofMinutes(5), Duration.ofSeconds(1), 16));
+		table = new CachingTable<>(db.table("rows", Row.SCHEMA), 100);
+		table.migrate(false);
+		table.insert(List.of(new Row(1, "a"), new Row(2, "b")));
+	}
+
+	@AfterEach
+	void close() {
+		db.close();
+	}
+
+	@Test
+	void lookupsAreServedFromCache() {
+		assertEquals(new Row(1, "a"), table.query(1).first());
+		assertEquals(new Row(1, "a"), table.query(1).first());
+		assertEquals(List.of(new Row(1, "a"), new Row(2, "b")), table.query(List.of(1, 2)).asList());
+		assertEquals(2, table.stats().hits());
+		assertEquals(2, table.stats().misses());
+	}
+
+	@Test
+	void ownWritesOnlyInvalidateWrittenRows() {
+		assertEquals(List.of(new Row(1, "a"), new Row(2, "b")), table.query(List.of(1, 2)).asList());
+		table.update(new Row(1, "changed"));
+		assertEquals(new Row(2, "b"), table.query(2).first());
+		assertEquals(new Row(1, "changed"), table.query(1).first());
+		assertEquals(1, table.stats().hits());
+
+		table.delete(2);
+		assertNull(table.query(2).first());
+		assertEquals(new Row(1, "changed"), table.query(1).first());
+		assertEquals(2, table.stats().hits());
+		assertEquals(4, table.stats().misses());
+	}
+
+	@Test
+	void writesByFilterClearCache() {
+		assertEquals(List.of(new Row(1, "a"), new Row(2, "b")), table.query(List.of(1, 2)).asList());
+		table.update(Filter.eq(Row.ID, 2), Row.NAME, "changed");
+		assertEquals(new Row(1, "a"), table.query(1).first());
+		assertEquals(new Row(2, "changed"), table.query(2).first());
+		assertEquals(0, table.stats().hits());
+	}
+
+	@Test
+	void writesFromOtherTableObjectClearCache() {
+		assertEquals(new Row(1, "a"), table.query(1).first());
+		db.table("rows", Row.SCHEMA).update(new Row(1, "changed"));
+		assertEquals(new Row(1, "changed"), table.query(1).first());
+	}
+
+	@Test
+	void rolledBackRowsAreNotCached() {
+		try (Transaction transaction = db.beginTransaction()) {
+			table.update(new Row(1, "uncommitted"));
+			table.insert(new Row(3, "c"));
+			assertEquals(new Row(1, "uncommitted"), table.query(1).first());
+			assertEquals(new Row(3, "c"), table.query(3).first());
+		}
+
+		assertEquals(new Row(1, "a"), table.query(1).first());
+		assertNull(table.query(3).first());
+	}
+
+	@Test
+	void otherThreadsDontSeeUncommittedRows() {
+		assertEquals(new Row(1, "a"), table.query(1).first());
+
+		try (Transaction transaction = db.beginTransaction()) {
+			table.update(new Row(1, "uncommitted"));
+			assertEquals(new Row(1, "uncommitted"), table.query(1).first());
+			assertEquals(new Row(1, "a"), CompletableFuture.supplyAsync(() -> table.query(1).first()).join());
+			transaction.commit();
+		}
+
+		assertEquals(new Row(1, "uncommitted"), table.query(1).first());
+		assertEquals(new Row(1, "uncommitted"), CompletableFuture.supplyAsync(() -> table.query(1).first()).join());
+	}
+
+	@Test
+	void invalidateReloadsRow() {
+		assertEquals(new Row(1, "a"), table.query(1).first());
+		table.invalidate(1);
+		assertEquals(new Row(1, "a"), table.query(1).first());
+		assertEquals(2, table.stats().misses());
+		table.invalidateAll();
+		assertEquals(0, table.stats().size());
+	}
+}
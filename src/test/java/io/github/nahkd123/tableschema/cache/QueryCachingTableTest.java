@@ -0,0 +1,68 @@
+package io.github.nahkd123.tableschema.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.Transaction;
+import io.github.nahkd123.tableschema.memory.MemoryDatabase;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class QueryCachingTableTest {
+	record Row(int id, String name) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, Row::new).withVersion(0);
+	}
+
+	private static QueryCachingTable<Integer, Row> open(MemoryDatabase db) {
+		QueryCachingTable<Integer, Row> table = new QueryCachingTable<>(db.table("rows", Row.SCHEMA), 100);
+		table.migrate(false);
+		table.insert(List.of(new Row(1, "a"), new Row(2, "b")));
+		return table;
+	}
+
+	@Test
+	void repeatedQueriesAreCached() {
+		try (MemoryDatabase db = new MemoryDatabase()) {
+			QueryCachingTable<Integer, Row> table = open(db);
+			Filter<Row> filter = Filter.eq(Row.NAME, "a");
+			assertEquals(List.of(new Row(1, "a")), table.query(filter, null).asList());
+			assertEquals(List.of(new Row(1, "a")), table.query(Filter.eq(Row.NAME, "a"), null).asList());
+			assertEquals(1, table.stats().hits());
+		}
+	}
+
+	@Test
+	void writesOutdateResults() {
+		try (MemoryDatabase db = new MemoryDatabase()) {
+			QueryCachingTable<Integer, Row> table = open(db);
+			assertEquals(1, table.query(Filter.eq(Row.NAME, "a"), null).asList().size());
+			Table<Integer, Row> other = db.table("rows", Row.SCHEMA);
+			other.insert(new Row(3, "a"));
+			assertEquals(2, table.query(Filter.eq(Row.NAME, "a"), null).asList().size());
+		}
+	}
+
+	@Test
+	void uncommittedResultsAreNotCached() {
+		try (MemoryDatabase db = new MemoryDatabase()) {
+			QueryCachingTable<Integer, Row> table = open(db);
+
+			try (Transaction transaction = db.beginTransaction()) {
+				table.insert(new Row(3, "a"));
+				assertEquals(2, table.query(Filter.eq(Row.NAME, "a"), null).asList().size());
+			}
+
+			assertEquals(1, table.query(Filter.eq(Row.NAME, "a"), null).asList().size());
+			assertEquals(1, CompletableFuture.supplyAsync(() -> table.query(Filter.eq(Row.NAME, "a"), null).asList().size()).join());
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import java.lang.management.ManagementFactory;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.sun.management.ThreadMXBean;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.QueryResult;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+/**
+ * <p>
+ * Bytes allocated and time spent for each row read from an in-memory SQLite
+ * table. Run with {@code mvn test -Dbenchmark=true}.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class DecodeAllocationBenchmark {
+	record Row(long id, int a, long b, double c) {
+		static final Field<Row, Long> ID = new Field<>(FieldType.LONG, "id", Row::id);
+		static final Field<Row, Integer> A = new Field<>(FieldType.INT, "a", Row::a);
+		static final Field<Row, Long> B = new Field<>(FieldType.LONG, "b", Row::b);
+		static final Field<Row, Double> C = new Field<>(FieldType.DOUBLE, "c", Row::c);
+		static final Schema<Long, Row> SCHEMA = Schema.of(ID, A, B, C, Row::new).withVersion(0);
+	}
+
+	private static final int ROWS = 100_000;
+	private static final int RUNS = 10;
+
+	@Test
+	void allocatedBytesPerRow() throws SQLException {
+		List<Row> rows = new ArrayList<>();
+		for (int i = 0; i < ROWS; i++) rows.add(new Row(1_000_000L + i, 1000 + i, 5_000_000_000L + i, i * 0.5));
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().threadId();
+
+		try (JdbcDatabase db = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"))) {
+			Table<Long, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			table.insert(rows);
+			long sink = 0;
+
+			// Warm up
+			for (int i = 0; i < RUNS; i++) sink += readAll(table);
+
+			long bytes = 0, nanos = 0;
+
+			for (int i = 0; i < RUNS; i++) {
+				long startBytes = threads.getThreadAllocatedBytes(thread), start = System.nanoTime();
+				sink += readAll(table);
+				nanos += System.nanoTime() - start;
+				bytes += threads.getThreadAllocatedBytes(thread) - startBytes;
+			}
+
+			System.out.printf("decode: %.1f bytes/row, %.0f ns/row (checksum %d)%n",
+				bytes / (double) (RUNS * ROWS), nanos / (double) (RUNS * ROWS), sink);
+		}
+	}
+
+	private static long readAll(Table<Long, Row> table) {
+		long sum = 0;
+
+		try (QueryResult<Row> result = table.query(null, null)) {
+			Row row;
+			while ((row = result.nextRow()) != null) sum += row.a();
+		}
+
+		return sum;
+	}
+}
@@ -0,0 +1,64 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+/**
+ * <p>
+ * Insert throughput on an embedded SQLite database, with batch size of 1 (one
+ * statement and commit per row, like before batching) and with the default
+ * batch size. Run with {@code mvn test -Dbenchmark=true}.
+ * </p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsertBenchmark {
+	record Row(UUID id, int n, String s) {
+		static final Field<Row, UUID> ID = new Field<>(FieldType.UUID, "id", Row::id);
+		static final Field<Row, Integer> N = new Field<>(FieldType.INT, "n", Row::n);
+		static final Field<Row, String> S = new Field<>(FieldType.fixedString(30), "s", Row::s);
+		static final Schema<UUID, Row> SCHEMA = Schema.of(ID, N, S, Row::new).withVersion(0);
+	}
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void insertRowsPerSecond() throws SQLException {
+		List<Row> rows = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++) rows.add(new Row(UUID.randomUUID(), i, "row " + i));
+
+		// Unbatched inserts commit every row, so they get fewer rows
+		double unbatched = measure(1, rows.subList(0, 2_000));
+		double batched = measure(JdbcDatabase.Options.DEFAULT.batchSize(), rows);
+		System.out.printf("insert: batch size 1: %.0f rows/s, batch size %d: %.0f rows/s (%.1fx)%n",
+			unbatched, JdbcDatabase.Options.DEFAULT.batchSize(), batched, batched / unbatched);
+	}
+
+	private double measure(int batchSize, List<Row> rows) throws SQLException {
+		try (JdbcDatabase db = new JdbcDatabase(
+			DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("bench" + batchSize + ".db")),
+			JdbcDatabase.Options.DEFAULT.withBatchSize(batchSize))) {
+			Table<UUID, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			long start = System.nanoTime();
+			assertEquals(rows.size(), table.insert(rows));
+			long elapsed = System.nanoTime() - start;
+			return rows.size() / (elapsed / 1e9);
+		}
+	}
+}
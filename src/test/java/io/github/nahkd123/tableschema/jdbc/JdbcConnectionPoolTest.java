@@ -0,0 +1,92 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JdbcConnectionPoolTest {
+	@TempDir
+	Path dir;
+
+	private JdbcConnectionPool pool(int maxSize, Duration acquireTimeout) {
+		return new JdbcConnectionPool(() -> DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("test.db")),
+			maxSize, Duration.ofMinutes(5), acquireTimeout, 16);
+	}
+
+	@Test
+	void reusesIdleConnection() throws SQLException {
+		try (JdbcConnectionPool pool = pool(2, Duration.ofSeconds(1))) {
+			Connection first = pool.acquire();
+			pool.release(first);
+			assertEquals(1, pool.idleSize());
+			assertSame(first, pool.acquire());
+			assertEquals(0, pool.idleSize());
+			assertEquals(1, pool.size());
+		}
+	}
+
+	@Test
+	void timesOutWhenAllConnectionsAreBorrowed() throws SQLException {
+		try (JdbcConnectionPool pool = pool(1, Duration.ofMillis(50))) {
+			pool.acquire();
+			assertThrows(SQLTimeoutException.class, pool::acquire);
+		}
+	}
+
+	@Test
+	void rejectsDoubleRelease() throws SQLException {
+		try (JdbcConnectionPool pool = pool(2, Duration.ofMillis(50))) {
+			Connection connection = pool.acquire();
+			pool.release(connection);
+			assertThrows(IllegalStateException.class, () -> pool.release(connection));
+			assertEquals(1, pool.idleSize());
+
+			// Permit was only given back once
+			Connection a = pool.acquire();
+			Connection b = pool.acquire();
+			assertNotSame(a, b);
+			assertThrows(SQLTimeoutException.class, pool::acquire);
+		}
+	}
+
+	@Test
+	void rejectsForeignConnection() throws SQLException {
+		try (JdbcConnectionPool pool = pool(1, Duration.ofMillis(50));
+			Connection foreign = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+			assertThrows(IllegalStateException.class, () -> pool.release(foreign));
+		}
+	}
+
+	@Test
+	void rollsBackUnfinishedTransactionOnRelease() throws SQLException {
+		try (JdbcConnectionPool pool = pool(1, Duration.ofSeconds(1))) {
+			Connection connection = pool.acquire();
+			connection.setAutoCommit(false);
+			pool.release(connection);
+			assertTrue(pool.acquire().getAutoCommit());
+		}
+	}
+
+	@Test
+	void closesReleasedConnectionsAfterClose() throws SQLException {
+		JdbcConnectionPool pool = pool(1, Duration.ofSeconds(1));
+		Connection connection = pool.acquire();
+		pool.close();
+		pool.release(connection);
+		assertTrue(connection.isClosed());
+		assertEquals(0, pool.size());
+		assertThrows(SQLException.class, pool::acquire);
+	}
+}
@@ -0,0 +1,71 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class JdbcInsertTest {
+	record Row(int id, String name) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, Row::new).withVersion(0);
+	}
+
+	@TempDir
+	Path dir;
+
+	private JdbcDatabase open(int batchSize) throws SQLException {
+		return new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("test.db")),
+			JdbcDatabase.Options.DEFAULT.withBatchSize(batchSize));
+	}
+
+	private static List<Row> rows(int from, int to) {
+		List<Row> rows = new ArrayList<>();
+		for (int i = from; i < to; i++) rows.add(new Row(i, "row " + i));
+		return rows;
+	}
+
+	@Test
+	void insertsAcrossBatches() throws SQLException {
+		try (JdbcDatabase db = open(7)) {
+			Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			assertEquals(100, table.insert(rows(0, 100)));
+			assertEquals(rows(0, 100), table.query(null, null).asList());
+		}
+	}
+
+	@Test
+	void insertsEmptyCollection() throws SQLException {
+		try (JdbcDatabase db = open(7)) {
+			Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			assertEquals(0, table.insert(List.of()));
+			assertEquals(List.of(), table.query(null, null).asList());
+		}
+	}
+
+	@Test
+	void batchSizeDoesNotChangeRows() throws SQLException {
+		for (int batchSize : new int[] { 1, 3, 1000 }) {
+			try (JdbcDatabase db = open(batchSize)) {
+				Table<Integer, Row> table = db.table("rows" + batchSize, Row.SCHEMA);
+				table.migrate(false);
+				assertEquals(10, table.insert(rows(0, 10)));
+				assertEquals(rows(0, 10), table.query(null, null).asList());
+			}
+		}
+	}
+}
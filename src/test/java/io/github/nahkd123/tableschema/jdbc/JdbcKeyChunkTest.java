@@ -0,0 +1,95 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class JdbcKeyChunkTest {
+	record Row(int id, String name) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, Row::new).withVersion(0);
+	}
+
+	private Connection connection;
+	private JdbcDatabase db;
+	private Table<Integer, Row> table;
+
+	@BeforeEach
+	void open() throws SQLException {
+		// At most 4 keys in a single statement
+		connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+		db = new JdbcDatabase(connection, JdbcDatabase.Options.DEFAULT.withMaxParameters(4));
+		table = db.table("rows", Row.SCHEMA);
+		table.migrate(false);
+		table.insert(rows(1, 10));
+	}
+
+	@AfterEach
+	void close() {
+		db.close();
+	}
+
+	private static List<Row> rows(int from, int to) {
+		return IntStream.rangeClosed(from, to).mapToObj(i -> new Row(i, "row " + i)).toList();
+	}
+
+	private static List<Integer> keys(int from, int to) {
+		return IntStream.rangeClosed(from, to).boxed().toList();
+	}
+
+	@Test
+	void queriesKeysInChunks() {
+		assertEquals(rows(1, 10), table.query(keys(1, 10)).asList());
+		assertEquals(List.of(), table.query(List.of()).asList());
+	}
+
+	@Test
+	void skipsMissingKeysAcrossChunks() {
+		assertEquals(List.of(new Row(2, "row 2"), new Row(9, "row 9")),
+			table.query(List.of(2, 11, 12, 13, 14, 9, 15)).asList());
+	}
+
+	@Test
+	void deletesKeysInChunks() {
+		assertEquals(7, table.delete(List.of(1, 2, 3, 4, 5, 6, 7, 42, 43)));
+		assertEquals(rows(8, 10), table.query(null, null).asList());
+	}
+
+	@Test
+	void rollsBackEarlierChunksWhenLaterChunkFails() throws SQLException {
+		try (Statement s = connection.createStatement()) {
+			s.execute("""
+				CREATE TRIGGER "keep9" BEFORE DELETE ON "rows:v0" WHEN OLD."id" = 9
+				BEGIN SELECT RAISE(ABORT, 'keep 9'); END""");
+		}
+
+		// 9 is in the last chunk, so the first 2 chunks have been deleted
+		assertThrows(RuntimeException.class, () -> table.delete(keys(1, 10)));
+		assertEquals(rows(1, 10), table.query(null, null).asList());
+	}
+
+	@Test
+	void sharesStatementsBetweenListSizes() {
+		long misses = db.statementCacheStats().misses();
+
+		// Lists of size 1, 2, 3 and 4 are padded to 1, 2, 4 and 4 parameters
+		for (int size = 1; size <= 4; size++) assertEquals(rows(1, size), table.query(keys(1, size)).asList());
+		assertEquals(misses + 3, db.statementCacheStats().misses());
+	}
+}
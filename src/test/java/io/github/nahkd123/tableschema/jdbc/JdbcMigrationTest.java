@@ -0,0 +1,92 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class JdbcMigrationTest {
+	enum Status {
+		WAITING,
+		DONE;
+	}
+
+	record OldRow(int id, UUID ref, Status status, String name) {
+		static final Field<OldRow, Integer> ID = Field.ofInt("id", OldRow::id);
+		static final Field<OldRow, UUID> REF = new Field<>(FieldType.UUID, "ref", OldRow::ref);
+		static final Field<OldRow, Status> STATUS = new Field<>(FieldType.ofEnum(Status.values()), "status", OldRow::status);
+		static final Field<OldRow, String> NAME = new Field<>(FieldType.fixedString(20), "name", OldRow::name);
+		static final Schema<Integer, OldRow> SCHEMA = Schema.ofRecord(OldRow.class, ID, REF, STATUS, NAME).withVersion(0);
+	}
+
+	record NewRow(int id, UUID ref, Status status, String name) {
+		static final Field<NewRow, Integer> ID = Field.ofInt("id", NewRow::id);
+		static final Field<NewRow, UUID> REF = new Field<>(FieldType.BINARY_UUID, "ref", NewRow::ref);
+		static final Field<NewRow, Status> STATUS = new Field<>(FieldType.ofEnumCode(Status.values()), "status", NewRow::status);
+		static final Field<NewRow, String> NAME = new Field<>(FieldType.fixedString(20), "name", NewRow::name);
+		static final Schema<Integer, NewRow> SCHEMA = Schema.ofRecord(NewRow.class, ID, REF, STATUS, NAME).withVersion(1);
+	}
+
+	@Test
+	void convertsTextUuidsToBinary() throws SQLException {
+		try (JdbcDatabase db = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"))) {
+			Table<Integer, OldRow> oldTable = db.table("rows", OldRow.SCHEMA);
+			oldTable.migrate(false);
+			UUID a = new UUID(-1L, 42L), b = UUID.randomUUID();
+			oldTable.insert(List.of(new OldRow(1, a, Status.DONE, "a"), new OldRow(2, b, Status.WAITING, null)));
+
+			Table<Integer, NewRow> newTable = db.table("rows", NewRow.SCHEMA);
+			Table.MigrationReport report = newTable.migrate(false);
+			assertEquals(0, report.fromVersion());
+			assertEquals(1, report.toVersion());
+			assertEquals(List.of(new NewRow(1, a, Status.DONE, "a"), new NewRow(2, b, Status.WAITING, null)),
+				newTable.query(null, null).asList());
+			assertEquals(List.of(new NewRow(1, a, Status.DONE, "a")), newTable.query(Filter.eq(NewRow.REF, a), null).asList());
+		}
+	}
+
+	@Test
+	void unknownEnumIdFailsMigration() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+
+		try (JdbcDatabase db = new JdbcDatabase(connection)) {
+			Table<Integer, OldRow> oldTable = db.table("rows", OldRow.SCHEMA);
+			oldTable.migrate(false);
+			UUID a = UUID.randomUUID();
+			oldTable.insert(new OldRow(1, a, Status.DONE, "a"));
+
+			try (Statement s = connection.createStatement()) {
+				s.execute("INSERT INTO \"rows:v0\" VALUES (2, '%s', 'CANCELLED', 'b')".formatted(UUID.randomUUID()));
+			}
+
+			// Converting CANCELLED to NULL would lose data
+			Table<Integer, NewRow> newTable = db.table("rows", NewRow.SCHEMA);
+			RuntimeException e = assertThrows(RuntimeException.class, () -> newTable.migrate(false));
+			assertEquals("Unknown enum ID 'CANCELLED'", e.getCause().getMessage());
+			assertEquals(List.of(new OldRow(1, a, Status.DONE, "a")), oldTable.query(List.of(1)).asList());
+
+			// Failed migration must not leave anything behind that stops the next attempt
+			try (Statement s = connection.createStatement()) {
+				s.execute("UPDATE \"rows:v0\" SET \"status\" = 'WAITING' WHERE \"id\" = 2");
+			}
+
+			assertEquals(0, newTable.migrate(false).fromVersion());
+			assertEquals(2L, newTable.count(null));
+			assertEquals(new NewRow(1, a, Status.DONE, "a"), newTable.query(List.of(1)).first());
+			assertEquals(Status.WAITING, newTable.query(List.of(2)).first().status());
+		}
+	}
+}
@@ -0,0 +1,250 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.QueryOptions;
+import io.github.nahkd123.tableschema.query.QueryResult;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+
+class JdbcQueryResultTest {
+	record Row(int id, int value) {
+		static final Field<Row, Integer> ID = Field.ofInt("id", Row::id);
+		static final Field<Row, Integer> VALUE = Field.ofInt("value", Row::value);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, VALUE, Row::new).withVersion(0);
+	}
+
+	/**
+	 * <p>
+	 * Single connection source that records which threads gave the connection
+	 * back.
+	 * </p>
+	 */
+	private static class RecordingSource implements JdbcConnectionSource {
+		private JdbcConnectionSource source;
+		private List<Thread> releasedBy = new CopyOnWriteArrayList<>();
+
+		public RecordingSource(Connection connection) {
+			this.source = JdbcConnectionSource.of(connection, 16);
+		}
+
+		@Override
+		public Connection acquire() throws SQLException {
+			return source.acquire();
+		}
+
+		@Override
+		public void release(Connection connection) throws SQLException {
+			releasedBy.add(Thread.currentThread());
+			source.release(connection);
+		}
+
+		@Override
+		public JdbcStatementCache statementCache(Connection connection) {
+			return source.statementCache(connection);
+		}
+
+		@Override
+		public List<JdbcStatementCache> statementCaches() {
+			return source.statementCaches();
+		}
+
+		@Override
+		public void close() {
+			source.close();
+		}
+	}
+
+	private static Table<Integer, Row> filled(JdbcDatabase db, int count) {
+		Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+		table.migrate(false);
+		List<Row> rows = new ArrayList<>();
+		for (int i = 0; i < count; i++) rows.add(new Row(i, i * 2));
+		table.insert(rows);
+		return table;
+	}
+
+	@Test
+	void sequentialStreamClosesWhenExhausted() throws SQLException {
+		RecordingSource source = new RecordingSource(DriverManager.getConnection("jdbc:sqlite::memory:"));
+
+		try (JdbcDatabase db = new JdbcDatabase(source)) {
+			Table<Integer, Row> table = filled(db, 100);
+			source.releasedBy.clear();
+			assertEquals(100, table.query(null, null).stream().count());
+			assertEquals(List.of(Thread.currentThread()), source.releasedBy);
+		}
+	}
+
+	@Test
+	void parallelStreamClosesWhenExhausted() throws SQLException {
+		RecordingSource source = new RecordingSource(DriverManager.getConnection("jdbc:sqlite::memory:"));
+
+		try (JdbcDatabase db = new JdbcDatabase(source)) {
+			Table<Integer, Row> table = filled(db, 20_000);
+			source.releasedBy.clear();
+			int cached = db.statementCacheStats().size();
+
+			// Last row is usually read on a worker thread, which closes the result just the same
+			assertEquals(20_000, table.query(null, null).stream().parallel().mapToInt(Row::value).count());
+			assertEquals(1, source.releasedBy.size());
+			assertEquals(cached + 1, db.statementCacheStats().size());
+		}
+	}
+
+	/**
+	 * <p>
+	 * Endless query result that records the thread reading from it.
+	 * </p>
+	 */
+	private static class EndlessResult implements QueryResult<Integer> {
+		private volatile Thread reader;
+		private AtomicInteger read = new AtomicInteger();
+		private volatile Thread closedBy;
+
+		@Override
+		public Integer nextRow() {
+			reader = Thread.currentThread();
+			return read.getAndIncrement();
+		}
+
+		@Override
+		public void close() {
+			closedBy = Thread.currentThread();
+		}
+	}
+
+	@Test
+	void prefetchStopsProducerWhenClosedEarly() {
+		EndlessResult source = new EndlessResult();
+		JdbcPrefetchQueryResult<Integer> result = new JdbcPrefetchQueryResult<>(source, 4);
+		assertEquals(0, result.nextRow());
+		assertEquals(1, result.nextRow());
+		result.close();
+
+		// Producer ended before the source was closed, and it read at most 1 row past the queue
+		assertFalse(source.reader.isAlive());
+		assertSame(Thread.currentThread(), source.closedBy);
+		int read = source.read.get();
+		assertTrue(read <= 2 + 4 + 1, "read " + read + " rows");
+		assertNull(result.nextRow());
+		assertEquals(read, source.read.get());
+	}
+
+	@Test
+	void prefetchReportsErrorsFromProducer() {
+		QueryResult<Integer> source = new QueryResult<>() {
+			@Override
+			public Integer nextRow() {
+				throw new AssertionError("decoder failed");
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+
+		try (JdbcPrefetchQueryResult<Integer> result = new JdbcPrefetchQueryResult<>(source, 4)) {
+			RuntimeException e = assertThrows(RuntimeException.class, result::nextRow);
+			assertEquals("decoder failed", e.getCause().getMessage());
+			assertNull(result.nextRow());
+		}
+	}
+
+	@Test
+	void prefetchReleasesStatementWhenClosedEarly() throws SQLException {
+		RecordingSource source = new RecordingSource(DriverManager.getConnection("jdbc:sqlite::memory:"));
+
+		try (JdbcDatabase db = new JdbcDatabase(source)) {
+			Table<Integer, Row> table = filled(db, 1000);
+			source.releasedBy.clear();
+			int cached = db.statementCacheStats().size();
+
+			try (QueryResult<Row> result = table.query(null, null, QueryOptions.DEFAULT.withPrefetch(8))) {
+				assertEquals(JdbcPrefetchQueryResult.class, result.getClass());
+				assertEquals(new Row(0, 0), result.nextRow());
+				assertEquals(new Row(1, 2), result.nextRow());
+			}
+
+			// Statement is back in cache, so the next query reuses it
+			assertEquals(List.of(Thread.currentThread()), source.releasedBy);
+			assertEquals(cached + 1, db.statementCacheStats().size());
+			long hits = db.statementCacheStats().hits();
+			assertEquals(1000, table.query(null, null).asList().size());
+			assertEquals(hits + 1, db.statementCacheStats().hits());
+		}
+	}
+
+	@Test
+	void prefetchIsIgnoredOnSingleConnection() throws SQLException {
+		try (JdbcDatabase db = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"))) {
+			Table<Integer, Row> table = filled(db, 100);
+
+			try (QueryResult<Row> result = table.query(null, null, QueryOptions.DEFAULT.withPrefetch(8))) {
+				assertEquals(JdbcQueryResult.class, result.getClass());
+				assertEquals(new Row(0, 0), result.nextRow());
+
+				// Writing while the result is open must not race with a background reader
+				table.insert(new Row(1000, 0));
+				for (int i = 1; i < 100; i++) assertEquals(new Row(i, i * 2), result.nextRow());
+			}
+
+			assertEquals(101, table.count(null));
+		}
+	}
+
+	private static ResultSet failingClose(SQLException error) {
+		return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+			(proxy, method, args) -> {
+				if (method.getName().equals("close")) throw error;
+				if (method.getName().equals("next")) return false;
+				throw new UnsupportedOperationException(method.getName());
+			});
+	}
+
+	@Test
+	void cleanupRunsWhenResultSetFailsToClose() {
+		SQLException closeError = new SQLException("close");
+		AtomicInteger cleanups = new AtomicInteger();
+		JdbcQueryResult<Object> result = new JdbcQueryResult<>(failingClose(closeError), set -> null,
+			cleanups::incrementAndGet);
+		RuntimeException thrown = assertThrows(RuntimeException.class, result::close);
+		assertSame(closeError, thrown.getCause());
+		assertEquals(1, cleanups.get());
+
+		// Closing again does nothing
+		result.close();
+		assertEquals(1, cleanups.get());
+	}
+
+	@Test
+	void cleanupErrorIsSuppressed() {
+		SQLException closeError = new SQLException("close");
+		SQLException cleanupError = new SQLException("cleanup");
+		JdbcQueryResult<Object> result = new JdbcQueryResult<>(failingClose(closeError), set -> null, () -> {
+			throw cleanupError;
+		});
+		RuntimeException thrown = assertThrows(RuntimeException.class, result::close);
+		assertSame(closeError, thrown.getCause());
+		assertArrayEquals(new Throwable[] { cleanupError }, closeError.getSuppressed());
+	}
+}
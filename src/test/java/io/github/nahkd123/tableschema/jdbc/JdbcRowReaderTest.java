@@ -0,0 +1,83 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.QueryResult;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class JdbcRowReaderTest {
+	enum Status {
+		WAITING,
+		DONE;
+	}
+
+	record Row(int id, long big, double ratio, String name, UUID ref, UUID binaryRef, Status status, Status code) {
+		static final Field<Row, Integer> ID = Field.ofInt("id", Row::id);
+		static final Field<Row, Long> BIG = Field.ofLong("big", Row::big);
+		static final Field<Row, Double> RATIO = Field.ofDouble("ratio", Row::ratio);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Field<Row, UUID> REF = new Field<>(FieldType.UUID, "ref", Row::ref);
+		static final Field<Row, UUID> BINARYREF = new Field<>(FieldType.BINARY_UUID, "binaryRef", Row::binaryRef);
+		static final Field<Row, Status> STATUS = new Field<>(FieldType.ofEnum(Status.values()), "status", Row::status);
+		static final Field<Row, Status> CODE = new Field<>(FieldType.ofEnumCode(Status.values()), "code", Row::code);
+		static final Schema<Integer, Row> SCHEMA = Schema.ofRecord(Row.class, ID, BIG, RATIO, NAME, REF, BINARYREF,
+			STATUS, CODE).withVersion(0);
+	}
+
+	private static List<Row> rows(int count) {
+		List<Row> rows = new ArrayList<>();
+
+		for (int i = 0; i < count; i++) {
+			rows.add(new Row(i, 5_000_000_000L + i, i * 0.5, "row " + i, new UUID(i, i), new UUID(-i, i),
+				Status.values()[i % 2], Status.values()[(i + 1) % 2]));
+		}
+
+		return rows;
+	}
+
+	@Test
+	void decodesAllFieldTypes() throws SQLException {
+		try (JdbcDatabase db = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"))) {
+			Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			table.insert(rows(10));
+			assertEquals(rows(10), table.query(null, null).asList());
+		}
+	}
+
+	@Test
+	void decodesNullFields() throws SQLException {
+		try (JdbcDatabase db = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"))) {
+			Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			Row row = new Row(1, 2L, 3d, null, new UUID(1, 1), null, Status.DONE, null);
+			table.insert(row);
+			assertEquals(row, table.query(1).first());
+		}
+	}
+
+	@Test
+	void parallelStreamDecodesSameRows() throws SQLException {
+		try (JdbcDatabase db = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"))) {
+			Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			table.insert(rows(5000));
+
+			try (QueryResult<Row> result = table.query(null, null); Stream<Row> stream = result.stream()) {
+				assertEquals(rows(5000), stream.parallel().toList());
+			}
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JdbcStatementCacheTest {
+	private Connection sql;
+
+	@BeforeEach
+	void open() throws SQLException {
+		sql = DriverManager.getConnection("jdbc:sqlite::memory:");
+	}
+
+	@AfterEach
+	void close() throws SQLException {
+		sql.close();
+	}
+
+	@Test
+	void reusesReleasedStatement() throws SQLException {
+		try (JdbcStatementCache cache = new JdbcStatementCache(sql, 4)) {
+			PreparedStatement a = cache.acquire("SELECT 1");
+			cache.release("SELECT 1", a);
+			assertSame(a, cache.acquire("SELECT 1"));
+			assertEquals(1, cache.hits());
+			assertEquals(1, cache.misses());
+		}
+	}
+
+	@Test
+	void statementInUseIsNotShared() throws SQLException {
+		try (JdbcStatementCache cache = new JdbcStatementCache(sql, 4)) {
+			PreparedStatement a = cache.acquire("SELECT 1");
+			PreparedStatement b = cache.acquire("SELECT 1");
+			assertNotSame(a, b);
+			cache.release("SELECT 1", a);
+			cache.release("SELECT 1", b);
+			assertTrue(a.isClosed());
+			assertEquals(1, cache.size());
+		}
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedStatement() throws SQLException {
+		try (JdbcStatementCache cache = new JdbcStatementCache(sql, 2)) {
+			PreparedStatement a = cache.acquire("SELECT 1");
+			PreparedStatement b = cache.acquire("SELECT 2");
+			PreparedStatement c = cache.acquire("SELECT 3");
+			cache.release("SELECT 1", a);
+			cache.release("SELECT 2", b);
+			cache.release("SELECT 3", c);
+			assertTrue(a.isClosed());
+			assertEquals(1, cache.evictions());
+			assertEquals(2, cache.size());
+		}
+	}
+
+	@Test
+	void zeroCapacityClosesStatements() throws SQLException {
+		try (JdbcStatementCache cache = new JdbcStatementCache(sql, 0)) {
+			PreparedStatement a = cache.acquire("SELECT 1");
+			cache.release("SELECT 1", a);
+			assertTrue(a.isClosed());
+			assertEquals(0, cache.size());
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.Transaction;
+import io.github.nahkd123.tableschema.query.QueryOptions;
+import io.github.nahkd123.tableschema.query.QueryResult;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class JdbcTransactionTest {
+	record Row(int id, String name) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, Row::new).withVersion(0);
+	}
+
+	@TempDir
+	Path dir;
+
+	private JdbcConnectionPool pool;
+	private JdbcDatabase db;
+	private Table<Integer, Row> table;
+
+	@BeforeEach
+	void open() {
+		pool = new JdbcConnectionPool(() -> DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("test.db")),
+			2, Duration.ofMinutes(5), Duration.ofSeconds(1), 16);
+		db = new JdbcDatabase(pool);
+		table = db.table("rows", Row.SCHEMA);
+		table.migrate(false);
+		table.insert(List.of(new Row(1, "a"), new Row(2, "b")));
+	}
+
+	@AfterEach
+	void close() {
+		db.close();
+	}
+
+	private List<Integer> keys() {
+		return table.query(null, null).asList().stream().map(Row::id).toList();
+	}
+
+	@Test
+	void commitKeepsChanges() {
+		try (Transaction transaction = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+			transaction.commit();
+		}
+
+		assertEquals(3, keys().size());
+	}
+
+	@Test
+	void closeWithoutCommitRollsBack() {
+		try (Transaction transaction = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+			assertEquals(3, keys().size());
+		}
+
+		assertEquals(2, keys().size());
+	}
+
+	@Test
+	void nestedRollbackOnlyUndoesNestedChanges() {
+		try (Transaction outer = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+
+			try (Transaction inner = db.beginTransaction()) {
+				table.insert(new Row(4, "d"));
+			}
+
+			outer.commit();
+		}
+
+		assertEquals(List.of(1, 2, 3), keys());
+	}
+
+	@Test
+	void closeUnwindsOpenNestedTransactions() {
+		Transaction outer = db.beginTransaction();
+		table.insert(new Row(3, "c"));
+		Transaction inner = db.beginTransaction();
+		table.insert(new Row(4, "d"));
+		outer.close();
+
+		// Connection is back in auto-commit mode and returned to pool
+		assertNull(db.currentTransaction());
+		assertThrows(IllegalStateException.class, inner::commit);
+		assertEquals(List.of(1, 2), keys());
+		assertEquals(1, pool.idleSize());
+		table.insert(new Row(5, "e"));
+		assertEquals(3, keys().size());
+	}
+
+	@Test
+	void rollbackToSavepoint() {
+		try (Transaction transaction = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+			Transaction.Savepoint savepoint = transaction.savepoint();
+			table.insert(new Row(4, "d"));
+			transaction.rollbackTo(savepoint);
+			transaction.commit();
+		}
+
+		assertEquals(List.of(1, 2, 3), keys());
+	}
+
+	@Test
+	void connectionIsReturnedOnceWhenResultOutlivesTransaction() throws SQLException {
+		QueryResult<Row> result;
+
+		try (Transaction transaction = db.beginTransaction()) {
+			result = table.query(null, null);
+			transaction.commit();
+		}
+
+		// Result was closed when the transaction ended
+		assertNull(result.nextRow());
+		result.close();
+		assertEquals(1, pool.size());
+		assertEquals(1, pool.idleSize());
+
+		Connection a = pool.acquire();
+		Connection b = pool.acquire();
+		assertNotSame(a, b);
+		pool.release(a);
+		pool.release(b);
+	}
+
+	@Test
+	void resultClosedOnOtherThreadKeepsTransactionConnection() throws Exception {
+		try (Transaction transaction = db.beginTransaction()) {
+			QueryResult<Row> result = table.query(null, null);
+			CompletableFuture.runAsync(result::close).get();
+
+			// Connection of transaction is still usable
+			table.insert(new Row(3, "c"));
+			assertEquals(0, pool.idleSize());
+			transaction.commit();
+		}
+
+		assertEquals(3, keys().size());
+		assertEquals(1, pool.idleSize());
+	}
+
+	@Test
+	void inTransactionCommitsOrRollsBack() {
+		assertEquals(3, db.inTransaction(() -> {
+			table.insert(new Row(3, "c"));
+			return keys().size();
+		}));
+
+		assertThrows(IllegalStateException.class, () -> db.inTransaction(() -> {
+			table.insert(new Row(4, "d"));
+			throw new IllegalStateException("Failed");
+		}));
+
+		assertEquals(List.of(1, 2, 3), keys());
+		assertNull(db.currentTransaction());
+	}
+
+	@Test
+	void prefetchIsIgnoredInsideTransaction() {
+		try (Transaction transaction = db.beginTransaction()) {
+			QueryResult<Row> result = table.query(null, null, QueryOptions.DEFAULT.withPrefetch(16));
+			assertEquals(JdbcQueryResult.class, result.getClass());
+			result.close();
+		}
+	}
+
+	@Test
+	void versionChangesOnCommitAndRollback() {
+		long before = table.version();
+
+		try (Transaction transaction = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+			assertEquals(-1L, table.version());
+		}
+
+		long afterRollback = table.version();
+		assertNotEquals(before, afterRollback);
+
+		try (Transaction transaction = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+			transaction.commit();
+		}
+
+		assertNotEquals(afterRollback, table.version());
+	}
+
+	@Test
+	void endedTransactionCannotBeUsed() {
+		Transaction transaction = db.beginTransaction();
+		transaction.commit();
+		assertThrows(IllegalStateException.class, transaction::commit);
+	}
+}
@@ -0,0 +1,153 @@
+package io.github.nahkd123.tableschema.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class JdbcUpsertTest {
+	record Row(int id, String name) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, Row::new).withVersion(0);
+	}
+
+	record Key(int id) {
+		static final Field<Key, Integer> ID = new Field<>(FieldType.INT, "id", Key::id);
+		static final Schema<Integer, Key> SCHEMA = Schema.of(ID, (id, fields) -> new Key(id)).withVersion(0);
+	}
+
+	private JdbcDatabase db;
+	private Table<Integer, Row> table;
+
+	@BeforeEach
+	void open() throws SQLException {
+		// Small batches, so upserts are split into multiple batches
+		db = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"),
+			JdbcDatabase.Options.DEFAULT.withBatchSize(2));
+		table = db.table("rows", Row.SCHEMA);
+		table.migrate(false);
+	}
+
+	@AfterEach
+	void close() {
+		db.close();
+	}
+
+	@Test
+	void detectsDialect() throws SQLException {
+		assertEquals(JdbcDialect.SQLITE, db.dialect());
+	}
+
+	@Test
+	void insertsNewRows() {
+		assertEquals(3, table.upsert(List.of(new Row(1, "a"), new Row(2, "b"), new Row(3, "c"))));
+		assertEquals(List.of(new Row(1, "a"), new Row(2, "b"), new Row(3, "c")), table.query(null, null).asList());
+	}
+
+	@Test
+	void updatesExistingRows() {
+		table.insert(List.of(new Row(1, "a"), new Row(2, "b")));
+		assertEquals(2, table.upsert(List.of(new Row(1, "x"), new Row(2, "y"))));
+		assertEquals(List.of(new Row(1, "x"), new Row(2, "y")), table.query(null, null).asList());
+	}
+
+	@Test
+	void mixesInsertsAndUpdatesAcrossBatches() {
+		table.insert(List.of(new Row(1, "a"), new Row(3, "c"), new Row(5, "e")));
+		List<Row> rows = List.of(new Row(1, "x"), new Row(2, "b"), new Row(3, "y"), new Row(4, "d"), new Row(5, "z"));
+		assertEquals(5, table.upsert(rows));
+		assertEquals(rows, table.query(null, null).asList());
+		assertEquals(true, table.upsert(new Row(6, "f")));
+	}
+
+	@Test
+	void keyOnlyTableIgnoresExistingRows() {
+		Table<Integer, Key> keys = db.table("keys", Key.SCHEMA);
+		keys.migrate(false);
+		keys.insert(List.of(new Key(1), new Key(3)));
+
+		// Nothing to update on existing rows, so only inserted rows are counted
+		assertEquals(2, keys.upsert(List.of(new Key(1), new Key(2), new Key(3), new Key(4))));
+		assertEquals(List.of(1, 2, 3, 4), keys.queryKeys(null).asList());
+	}
+
+	/**
+	 * <p>
+	 * Wrap connection so its database product is not known to
+	 * {@link JdbcDialect#detect(DatabaseMetaData)}.
+	 * </p>
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T unknownProduct(Class<T> type, T target) {
+		return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+			if (method.getName().equals("getDatabaseProductName")) return "Unknown";
+
+			try {
+				Object result = method.invoke(target, args);
+				if (method.getName().equals("getMetaData")) return unknownProduct(DatabaseMetaData.class, (DatabaseMetaData) result);
+				return result;
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		});
+	}
+
+	@Test
+	void fallsBackToUpdateThenInsertForUnknownDialect() throws SQLException {
+		Connection connection = unknownProduct(Connection.class, DriverManager.getConnection("jdbc:sqlite::memory:"));
+
+		try (JdbcDatabase db = new JdbcDatabase(connection, JdbcDatabase.Options.DEFAULT.withBatchSize(2))) {
+			assertNull(db.dialect());
+			Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			table.insert(List.of(new Row(1, "a"), new Row(3, "c")));
+			List<Row> rows = List.of(new Row(1, "x"), new Row(2, "b"), new Row(3, "y"), new Row(4, "d"));
+			assertEquals(4, table.upsert(rows));
+			assertEquals(rows, table.query(null, null).asList());
+		}
+	}
+
+	@Test
+	void fallbackRollsBackUpdatesWhenInsertFails() throws SQLException {
+		Connection connection = unknownProduct(Connection.class, DriverManager.getConnection("jdbc:sqlite::memory:"));
+
+		try (JdbcDatabase db = new JdbcDatabase(connection, JdbcDatabase.Options.DEFAULT.withBatchSize(2))) {
+			Table<Integer, Row> table = db.table("rows", Row.SCHEMA);
+			table.migrate(false);
+			table.insert(List.of(new Row(1, "a"), new Row(3, "c")));
+
+			// Both rows with key 2 are missing, so the second insert violates primary key
+			List<Row> rows = List.of(new Row(1, "x"), new Row(2, "b"), new Row(3, "y"), new Row(2, "d"));
+			assertThrows(RuntimeException.class, () -> table.upsert(rows));
+			assertEquals(List.of(new Row(1, "a"), new Row(3, "c")), table.query(null, null).asList());
+		}
+	}
+
+	@Test
+	void generatesUpsertForEachDialect() {
+		String insert = "INSERT INTO \"t\" (\"id\", \"name\") VALUES (?, ?)";
+		assertEquals(insert + " ON CONFLICT (\"id\") DO UPDATE SET \"name\" = excluded.\"name\"",
+			JdbcDialect.POSTGRESQL.upsertCode(insert, "id", List.of("name")));
+		assertEquals(insert + " ON DUPLICATE KEY UPDATE \"name\" = VALUES(\"name\")",
+			JdbcDialect.MYSQL.upsertCode(insert, "id", List.of("name")));
+		assertEquals(insert + " ON DUPLICATE KEY UPDATE \"id\" = VALUES(\"id\")",
+			JdbcDialect.MYSQL.upsertCode(insert, "id", List.of()));
+	}
+}
@@ -0,0 +1,46 @@
+package io.github.nahkd123.tableschema.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.query.Filter;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Index;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class MemoryMigrationTest {
+	record OldRow(int id, String name) {
+		static final Field<OldRow, Integer> ID = Field.ofInt("id", OldRow::id);
+		static final Field<OldRow, String> NAME = new Field<>(FieldType.fixedString(20), "name", OldRow::name);
+		static final Schema<Integer, OldRow> SCHEMA = Schema.ofRecord(OldRow.class, ID, NAME).withVersion(0);
+	}
+
+	record NewRow(int id, String name, String note) {
+		static final Field<NewRow, Integer> ID = Field.ofInt("id", NewRow::id);
+		static final Field<NewRow, String> NAME = new Field<>(FieldType.fixedString(20), "name", NewRow::name);
+		static final Field<NewRow, String> NOTE = new Field<>(FieldType.fixedString(20), "note", NewRow::note);
+		static final Schema<Integer, NewRow> SCHEMA = Schema.ofRecord(NewRow.class, ID, NAME, NOTE)
+			.withIndexes(List.of(new Index<NewRow>("name").appendField(NAME)))
+			.withVersion(1);
+	}
+
+	@Test
+	void rebuildsRowsWithNewRowType() {
+		try (MemoryDatabase db = new MemoryDatabase()) {
+			Table<Integer, OldRow> oldTable = db.table("rows", OldRow.SCHEMA);
+			oldTable.migrate(false);
+			oldTable.insert(List.of(new OldRow(1, "a"), new OldRow(2, "b")));
+
+			Table<Integer, NewRow> newTable = db.table("rows", NewRow.SCHEMA);
+			Table.MigrationReport report = newTable.migrate(false);
+			assertEquals(0, report.fromVersion());
+			assertEquals(List.of(new NewRow(2, "b", null)), newTable.query(Filter.eq(NewRow.NAME, "b"), null).asList());
+			assertEquals(new NewRow(1, "a", null), newTable.query(List.of(1)).first());
+		}
+	}
+}
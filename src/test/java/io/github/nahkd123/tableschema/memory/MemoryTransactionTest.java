@@ -0,0 +1,195 @@
+package io.github.nahkd123.tableschema.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.SortOrder;
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.Transaction;
+import io.github.nahkd123.tableschema.query.SortBy;
+import io.github.nahkd123.tableschema.schema.Field;
+import io.github.nahkd123.tableschema.schema.Schema;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class MemoryTransactionTest {
+	record Row(int id, String name) {
+		static final Field<Row, Integer> ID = new Field<>(FieldType.INT, "id", Row::id);
+		static final Field<Row, String> NAME = new Field<>(FieldType.fixedString(20), "name", Row::name);
+		static final Schema<Integer, Row> SCHEMA = Schema.of(ID, NAME, Row::new).withVersion(0);
+	}
+
+	private MemoryDatabase db;
+	private Table<Integer, Row> table;
+
+	@BeforeEach
+	void open() {
+		db = new MemoryDatabase();
+		table = db.table("rows", Row.SCHEMA);
+		table.migrate(false);
+		table.insert(List.of(new Row(1, "a"), new Row(2, "b")));
+	}
+
+	@AfterEach
+	void close() {
+		db.close();
+	}
+
+	// Undone deletes put rows back at the end, so natural order is not stable
+	private List<Row> rows() {
+		return table.query(null, new SortBy<>(Row.ID, SortOrder.ASCENDING)).asList();
+	}
+
+	private List<Integer> keys() {
+		return rows().stream().map(Row::id).toList();
+	}
+
+	@Test
+	void commitKeepsChanges() {
+		try (Transaction transaction = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+			transaction.commit();
+		}
+
+		assertEquals(3, table.count(null));
+	}
+
+	@Test
+	void closeWithoutCommitRollsBack() {
+		try (Transaction transaction = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+			table.update(new Row(1, "changed"));
+			table.delete(2);
+			assertEquals(List.of(new Row(1, "changed"), new Row(3, "c")), rows());
+		}
+
+		assertEquals(List.of(new Row(1, "a"), new Row(2, "b")), rows());
+	}
+
+	@Test
+	void nestedRollbackOnlyUndoesNestedChanges() {
+		try (Transaction outer = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+
+			try (Transaction inner = db.beginTransaction()) {
+				table.insert(new Row(4, "d"));
+			}
+
+			outer.commit();
+		}
+
+		assertEquals(List.of(1, 2, 3), keys());
+	}
+
+	@Test
+	void committedNestedChangesAreUndoneWithOuter() {
+		try (Transaction outer = db.beginTransaction()) {
+			try (Transaction inner = db.beginTransaction()) {
+				table.insert(new Row(3, "c"));
+				inner.commit();
+			}
+		}
+
+		assertEquals(List.of(1, 2), keys());
+	}
+
+	@Test
+	void closeUnwindsOpenNestedTransactions() {
+		Transaction outer = db.beginTransaction();
+		table.insert(new Row(3, "c"));
+		Transaction inner = db.beginTransaction();
+		table.insert(new Row(4, "d"));
+		outer.close();
+
+		assertNull(db.currentTransaction());
+		assertThrows(IllegalStateException.class, inner::commit);
+		assertEquals(List.of(1, 2), keys());
+	}
+
+	@Test
+	void failedInsertUndoesEarlierRows() {
+		// Row 1 already exists, so the insert fails after inserting rows 3 and 4
+		assertThrows(RuntimeException.class,
+			() -> table.insert(List.of(new Row(3, "c"), new Row(4, "d"), new Row(1, "duplicated"))));
+		assertEquals(List.of(new Row(1, "a"), new Row(2, "b")), rows());
+
+		try (Transaction transaction = db.beginTransaction()) {
+			table.insert(new Row(5, "e"));
+			assertThrows(RuntimeException.class,
+				() -> table.insert(List.of(new Row(3, "c"), new Row(2, "duplicated"))));
+
+			// Only the failed insert is undone
+			transaction.commit();
+		}
+
+		assertEquals(List.of(1, 2, 5), keys());
+	}
+
+	@Test
+	void rollbackToSavepoint() {
+		try (Transaction transaction = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+			Transaction.Savepoint savepoint = transaction.savepoint();
+			table.insert(new Row(4, "d"));
+			table.delete(1);
+			transaction.rollbackTo(savepoint);
+			transaction.release(savepoint);
+			transaction.commit();
+		}
+
+		assertEquals(List.of(1, 2, 3), keys());
+	}
+
+	@Test
+	void savepointOfOtherTransactionIsRejected() {
+		try (Transaction outer = db.beginTransaction()) {
+			Transaction.Savepoint savepoint = outer.savepoint();
+
+			try (Transaction inner = db.beginTransaction()) {
+				assertThrows(IllegalArgumentException.class, () -> inner.rollbackTo(savepoint));
+			}
+		}
+	}
+
+	@Test
+	void inTransactionCommitsOrRollsBack() {
+		assertEquals(3, db.inTransaction(() -> {
+			table.insert(new Row(3, "c"));
+			return table.count(null);
+		}));
+
+		assertThrows(IllegalStateException.class, () -> db.inTransaction(() -> {
+			table.insert(new Row(4, "d"));
+			throw new IllegalStateException("Failed");
+		}));
+
+		assertEquals(List.of(1, 2, 3), keys());
+		assertNull(db.currentTransaction());
+	}
+
+	@Test
+	void versionChangesOnRollback() {
+		long before = table.version();
+
+		try (Transaction transaction = db.beginTransaction()) {
+			table.insert(new Row(3, "c"));
+		}
+
+		assertNotEquals(before, table.version());
+	}
+
+	@Test
+	void endedTransactionCannotBeUsed() {
+		Transaction transaction = db.beginTransaction();
+		transaction.commit();
+		assertThrows(IllegalStateException.class, transaction::commit);
+		assertThrows(IllegalStateException.class, transaction::savepoint);
+	}
+}
@@ -0,0 +1,83 @@
+package io.github.nahkd123.tableschema.schema;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.nahkd123.tableschema.Table;
+import io.github.nahkd123.tableschema.jdbc.JdbcDatabase;
+import io.github.nahkd123.tableschema.schema.type.FieldType;
+
+class RecordFactoryTest {
+	record Small(String name, int id, long count) {
+		static final Field<Small, Integer> ID = Field.ofInt("id", Small::id);
+		static final Field<Small, String> NAME = new Field<>(FieldType.BIGTEXT, "name", Small::name);
+		static final Field<Small, Long> COUNT = Field.ofLong("count", Small::count);
+	}
+
+	record Key(int id) {
+		static final Field<Key, Integer> ID = Field.ofInt("id", Key::id);
+	}
+
+	record Large(int id, int a, int b, int c, int d, int e, int f, int g, int h) {
+	}
+
+	private static Field<Large, Integer> field(String label) {
+		return Field.ofInt(label, row -> 0);
+	}
+
+	@Test
+	void createsRecordWithComponentsInAnyOrder() {
+		// Key is not the first component, and fields are not in component order
+		Schema<Integer, Small> schema = Schema.ofRecord(Small.class, Small.ID, Small.COUNT, Small.NAME);
+		Schema.ArrayFactory<Integer, Small> factory = (Schema.ArrayFactory<Integer, Small>) schema.factory();
+		assertEquals(new Small("x", 1, 2L), factory.create(1, new Object[] { 2L, "x" }));
+		assertEquals(new Small("x", 1, 2L), schema.factory().create(1, List.of(2L, "x")));
+	}
+
+	@Test
+	void createsRecordWithMoreThan8Components() {
+		Schema<Integer, Large> schema = Schema.ofRecord(Large.class, field("id"), field("h"), field("g"), field("f"),
+			field("e"), field("d"), field("c"), field("b"), field("a"));
+		Schema.ArrayFactory<Integer, Large> factory = (Schema.ArrayFactory<Integer, Large>) schema.factory();
+		assertEquals(new Large(0, 1, 2, 3, 4, 5, 6, 7, 8),
+			factory.create(0, new Object[] { 8, 7, 6, 5, 4, 3, 2, 1 }));
+	}
+
+	@Test
+	void rejectsMismatchedFields() {
+		assertThrows(IllegalArgumentException.class, () -> Schema.ofRecord(Small.class, Small.ID, Small.NAME));
+		assertThrows(IllegalArgumentException.class,
+			() -> Schema.ofRecord(Small.class, Small.ID, Small.NAME, Field.ofLong("other", Small::count)));
+	}
+
+	@Test
+	void rejectsNullForPrimitiveComponent() {
+		Schema<Integer, Small> schema = Schema.ofRecord(Small.class, Small.ID, Small.NAME, Small.COUNT);
+		Schema.ArrayFactory<Integer, Small> factory = (Schema.ArrayFactory<Integer, Small>) schema.factory();
+		assertThrows(NullPointerException.class, () -> factory.create(1, new Object[] { "x", null }));
+	}
+
+	@Test
+	void createsKeyOnlyRecord() {
+		Schema<Integer, Key> schema = Schema.ofRecord(Key.class, Key.ID);
+		Schema.ArrayFactory<Integer, Key> factory = (Schema.ArrayFactory<Integer, Key>) schema.factory();
+		assertEquals(new Key(1), factory.create(1, new Object[0]));
+	}
+
+	@Test
+	void readsRecordsFromDatabase() throws SQLException {
+		try (JdbcDatabase db = new JdbcDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"))) {
+			Table<Integer, Small> table = db.table("rows", Schema.ofRecord(Small.class, Small.ID, Small.COUNT, Small.NAME).withVersion(0));
+			table.migrate(false);
+			List<Small> rows = List.of(new Small("a", 1, Long.MAX_VALUE), new Small(null, 2, -1L));
+			table.insert(rows);
+			assertEquals(rows, table.query(null, null).asList());
+		}
+	}
+}